@@ -0,0 +1,55 @@
+package net.javadiscord.challenges.launch.benchmark;
+
+import net.javadiscord.challenges.launch.batch.BatchSimulator;
+import net.javadiscord.challenges.launch.model.GameModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rocket-ticks per second through the batch simulator, to compare
+ * with the {@link PhysicsBenchmark}. The vector kernel is only used if the
+ * Vector API's module is added, so each benchmark forks with or without it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OperationsPerInvocation(BatchBenchmark.ROCKETS)
+public class BatchBenchmark {
+	static final int ROCKETS = 4096;
+
+	/**
+	 * As in the {@link PhysicsBenchmark}, a tiny time step keeps the fuel
+	 * practically constant.
+	 */
+	private static final double TIME_STEP = 1e-6;
+
+	private BatchSimulator batch;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		var model = new GameModel(new IdleGuidance(), new SplittableRandom(42));
+		model.getRocket().doForAllThrusters("ME", t -> {
+			t.setActive(true);
+			t.setThrottle(1);
+		});
+		batch = new BatchSimulator(model.getRocket(), ROCKETS, 42);
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+	public BatchSimulator vector() {
+		batch.step(TIME_STEP);
+		return batch;
+	}
+
+	@Benchmark
+	@Fork(1)
+	public BatchSimulator scalar() {
+		batch.step(TIME_STEP);
+		return batch;
+	}
+}
@@ -0,0 +1,24 @@
+package net.javadiscord.challenges.launch.benchmark;
+
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.model.Rocket;
+
+/**
+ * A guidance computer which lights the main engines at launch and does nothing
+ * else, so that benchmarks measure the simulation and not the guidance.
+ */
+class IdleGuidance implements GuidanceComputer {
+	@Override
+	public void launchSequenceStart(Rocket rocket, float t) {
+		rocket.getThrusterGroup("ME").setThrottle(1.0f);
+	}
+
+	@Override
+	public void launch(Rocket rocket) {
+		rocket.getThrusterGroup("ME").setActive(true);
+		rocket.getThrusterGroup("RCS Top").setActive(true);
+	}
+
+	@Override
+	public void controlRocket(Rocket rocket, float t) {}
+}
@@ -0,0 +1,55 @@
+package net.javadiscord.challenges.launch.benchmark;
+
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the model queries which the physics and rendering make every
+ * tick or frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+	@Param({"0", "35000", "150000"})
+	private float altitude;
+
+	private GameModel model;
+	private Rocket rocket;
+
+	@Setup
+	public void setup() {
+		model = new GameModel(new IdleGuidance());
+		rocket = model.getRocket();
+		rocket.getPosition().y = altitude;
+		model.updateEnvironment();
+	}
+
+	@Benchmark
+	public float getMass() {
+		return rocket.getMass();
+	}
+
+	@Benchmark
+	public float getAtmosphericDensity() {
+		return model.getAtmosphericDensity(altitude);
+	}
+
+	@Benchmark
+	public GameModel updateEnvironment() {
+		model.updateEnvironment();
+		return model;
+	}
+
+	@Benchmark
+	public Color getSkyColor() {
+		return model.getSkyColor();
+	}
+}
@@ -0,0 +1,43 @@
+package net.javadiscord.challenges.launch.benchmark;
+
+import net.javadiscord.challenges.launch.control.PhysicsEngine;
+import net.javadiscord.challenges.launch.model.GameModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures physics ticks per second, covering the rocket update and the
+ * thruster force accumulation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhysicsBenchmark {
+	/**
+	 * A tiny time step keeps the rocket's state, and most importantly its
+	 * fuel, practically constant over the millions of ticks in an iteration.
+	 */
+	private static final double TIME_STEP = 1e-6;
+
+	private GameModel model;
+	private PhysicsEngine physics;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		model = new GameModel(new IdleGuidance(), new SplittableRandom(42));
+		physics = new PhysicsEngine(model);
+		model.startLaunch();
+		physics.update(GameModel.LAUNCH_SEQUENCE_DURATION + 1.0);
+	}
+
+	@Benchmark
+	public GameModel tick() {
+		physics.update(TIME_STEP);
+		return model;
+	}
+}
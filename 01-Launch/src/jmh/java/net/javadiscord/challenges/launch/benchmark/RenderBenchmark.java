@@ -0,0 +1,54 @@
+package net.javadiscord.challenges.launch.benchmark;
+
+import net.javadiscord.challenges.launch.control.SnapshotPublisher;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.view.GamePanel;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to render a single frame of the game into an
+ * offscreen image, with all of the rocket's thrusters firing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+	@Param({"800x600", "1920x1080"})
+	private String size;
+
+	private GamePanel panel;
+	private int width;
+	private int height;
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	@Setup
+	public void setup() {
+		var model = new GameModel(new IdleGuidance());
+		model.getRocket().doForAllThrusters("", t -> t.setActive(true));
+		String[] dimensions = size.split("x");
+		width = Integer.parseInt(dimensions[0]);
+		height = Integer.parseInt(dimensions[1]);
+		panel = new GamePanel(model, new SnapshotPublisher(model));
+		image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		graphics = image.createGraphics();
+	}
+
+	@TearDown
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage render() {
+		panel.render(graphics, width, height);
+		return image;
+	}
+}
@@ -0,0 +1,54 @@
+package net.javadiscord.challenges.launch.benchmark;
+
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.Thruster;
+import net.javadiscord.challenges.launch.model.ThrusterGroup;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the thruster lookups that guidance computers and key handlers
+ * make in their control loops.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThrusterLookupBenchmark {
+	private Rocket rocket;
+	private String name;
+	private String prefix;
+
+	@Setup
+	public void setup() {
+		rocket = new Rocket(new IdleGuidance());
+		// Built at runtime, so the lookups can't rely on constant strings.
+		name = new StringBuilder("RCS Bottom Right").toString();
+		prefix = new StringBuilder("RCS").toString();
+	}
+
+	@Benchmark
+	public Thruster getThrusterByName() {
+		return rocket.getThrusterByName(name);
+	}
+
+	@Benchmark
+	public List<Thruster> getAllByPrefix() {
+		return rocket.getAllByPrefix(prefix);
+	}
+
+	@Benchmark
+	public ThrusterGroup getThrusterGroup() {
+		return rocket.getThrusterGroup(prefix);
+	}
+
+	@Benchmark
+	public void doForAllThrusters(Blackhole bh) {
+		rocket.doForAllThrusters(prefix, bh::consume);
+	}
+}
@@ -0,0 +1,50 @@
+package net.javadiscord.challenges.launch.benchmark;
+
+import net.javadiscord.challenges.launch.model.Vec2;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vec2Benchmark {
+	private Vec2 a;
+	private Vec2 b;
+	private float theta;
+
+	@Setup
+	public void setup() {
+		a = new Vec2(3.0f, -4.0f);
+		b = new Vec2(-1.5f, 10.0f);
+		theta = 0.7f;
+	}
+
+	@Benchmark
+	public Vec2 addInPlace() {
+		return a.add(b).sub(b);
+	}
+
+	@Benchmark
+	public Vec2 copyAndNormalize() {
+		return new Vec2(a).normalize();
+	}
+
+	@Benchmark
+	public float dot() {
+		return a.dot(b);
+	}
+
+	@Benchmark
+	public float length() {
+		return b.length();
+	}
+
+	@Benchmark
+	public Vec2 fromPolar() {
+		return Vec2.fromPolar(2.0f, theta);
+	}
+}
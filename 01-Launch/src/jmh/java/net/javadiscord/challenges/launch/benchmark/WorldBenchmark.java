@@ -0,0 +1,56 @@
+package net.javadiscord.challenges.launch.benchmark;
+
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.SimpleLaunchGuidance;
+import net.javadiscord.challenges.launch.control.World;
+import net.javadiscord.challenges.launch.model.GameModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a tick of a world takes, as the number of vehicles
+ * grows. To keep up in real time, a tick must take less than 1/60th of a
+ * second. The "simple" guidance is what the extra vehicles of
+ * {@code --vehicles} fly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorldBenchmark {
+	private static final double TIME_STEP = 1e-6;
+
+	@Param({"1", "100", "500"})
+	private int vehicles;
+
+	@Param({"idle", "simple"})
+	private String guidance;
+
+	private World world;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		List<GameModel> models = new ArrayList<>(vehicles);
+		for (int i = 0; i < vehicles; i++) {
+			GuidanceComputer computer = guidance.equals("simple") ? new SimpleLaunchGuidance(false) : new IdleGuidance();
+			var model = new GameModel(computer, new SplittableRandom(i));
+			model.getRocket().getPosition().x = i * 30;
+			models.add(model);
+		}
+		world = new World(models);
+		world.startLaunch();
+		world.update(GameModel.LAUNCH_SEQUENCE_DURATION + 1.0);
+	}
+
+	@Benchmark
+	public World tick() {
+		world.update(TIME_STEP);
+		return world;
+	}
+}
@@ -14,7 +14,21 @@ public interface GuidanceComputer {
 	 * @param rocket The rocket that's launching.
 	 * @param t The time until the launch, in seconds.
 	 */
-	void launchSequenceStart(Rocket rocket, float t);
+	default void launchSequenceStart(Rocket rocket, float t) {}
+
+	/**
+	 * This method is called a few seconds prior to launch, just like
+	 * {@link #launchSequenceStart(Rocket, float)}, which it calls by default.
+	 * Override this one instead if you need to do anything at a later point
+	 * in time, such as running a test sequence before liftoff, by scheduling
+	 * it rather than using threads, so that it works at any simulation speed.
+	 * @param rocket The rocket that's launching.
+	 * @param t The time until the launch, in seconds.
+	 * @param scheduler Schedules tasks in simulated time.
+	 */
+	default void launchSequenceStart(Rocket rocket, float t, Scheduler scheduler) {
+		launchSequenceStart(rocket, t);
+	}
 
 	/**
 	 * This method is called at t = 0.0. Ignite your engines and enter flight
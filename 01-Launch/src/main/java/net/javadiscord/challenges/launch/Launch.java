@@ -1,13 +1,302 @@
 package net.javadiscord.challenges.launch;
 
+import net.javadiscord.challenges.launch.batch.AscentOptimizer;
+import net.javadiscord.challenges.launch.batch.BatchCrossCheck;
+import net.javadiscord.challenges.launch.batch.FlightOptions;
+import net.javadiscord.challenges.launch.batch.MonteCarloRunner;
+import net.javadiscord.challenges.launch.batch.Tournament;
+import net.javadiscord.challenges.launch.control.Simulation;
+import net.javadiscord.challenges.launch.control.World;
+import net.javadiscord.challenges.launch.guidance.BudgetedGuidance;
+import net.javadiscord.challenges.launch.guidance.GravityTurnGuidance;
+import net.javadiscord.challenges.launch.guidance.GuidanceHost;
+import net.javadiscord.challenges.launch.guidance.RemoteGuidanceComputer;
+import net.javadiscord.challenges.launch.integrator.Integrator;
+import net.javadiscord.challenges.launch.model.AtmosphereTable;
 import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.telemetry.FlightRecorder;
+import net.javadiscord.challenges.launch.telemetry.ReplayPlayer;
+import net.javadiscord.challenges.launch.telemetry.TelemetryFile;
+import net.javadiscord.challenges.launch.telemetry.TelemetryServer;
 import net.javadiscord.challenges.launch.view.GameFrame;
+import net.javadiscord.challenges.launch.view.ReplayFrame;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
 
 public class Launch {
-	public static void main(String[] args) {
+	/**
+	 * The distance between vehicles on the launch pad, in meters.
+	 */
+	private static final float VEHICLE_SPACING = 30;
+
+	/**
+	 * The longest to wait, when a flight ends, for telemetry clients to be
+	 * sent the last frames, in milliseconds.
+	 */
+	private static final long SERVER_DRAIN_MILLIS = 1000;
+
+	/**
+	 * The modes which fly the guidance computer given on the command line,
+	 * rather than their own.
+	 */
+	private static final Set<String> REMOTE_GUIDANCE_MODES = Set.of("", "--headless", "--monte-carlo");
+
+	public static void main(String[] args) throws IOException {
+		List<String> arguments = new ArrayList<>(List.of(args));
+		String recordingPath = takeOption(arguments, "--record");
+		String budget = takeOption(arguments, "--budget");
+		boolean skipOverruns = arguments.remove("--skip-overruns");
+		String integratorName = takeOption(arguments, "--integrator");
+		String timeStepOption = takeOption(arguments, "--time-step");
+		String speed = takeOption(arguments, "--speed");
+		String vehicles = takeOption(arguments, "--vehicles");
+		String atmospherePath = takeOption(arguments, "--atmosphere");
+		String servePort = takeOption(arguments, "--serve");
+		String remoteGuidancePath = takeOption(arguments, "--remote-guidance");
+		String pipelineDepth = takeOption(arguments, "--pipeline");
+		var atmosphere = atmospherePath == null ? AtmosphereTable.DEFAULT : AtmosphereTable.load(Path.of(atmospherePath));
+		Supplier<Integrator> integrator = Integrator.forName(integratorName == null ? "euler" : integratorName);
+		double timeStep = timeStepOption == null ? Simulation.DEFAULT_TIME_STEP : Double.parseDouble(timeStepOption);
+		var batchOptions = new FlightOptions().integrator(integrator).timeStep(timeStep).atmosphere(atmosphere);
+		String mode = arguments.isEmpty() ? "" : arguments.get(0);
+		Supplier<RemoteGuidanceComputer> remoteGuidance = null;
+		if (remoteGuidancePath != null) {
+			if (!REMOTE_GUIDANCE_MODES.contains(mode)) {
+				throw new IllegalArgumentException("Remote guidance can only fly the interactive, headless and Monte Carlo simulations.");
+			}
+			remoteGuidance = remoteGuidance(Path.of(remoteGuidancePath), pipelineDepth == null ? 0 : Integer.parseInt(pipelineDepth));
+		}
+
 		// Replace "SimpleLaunchGuidance" with your own guidance computer implementation!
-		var model = new GameModel(new SimpleLaunchGuidance());
-		var frame = new GameFrame(model);
+		GuidanceComputer guidance = new SimpleLaunchGuidance();
+		if (remoteGuidance != null && !mode.equals("--monte-carlo")) {
+			var remote = remoteGuidance.get();
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.print(remote.getReport())));
+			guidance = remote;
+		}
+		if (budget != null) {
+			var policy = skipOverruns ? BudgetedGuidance.OverrunPolicy.SKIP : BudgetedGuidance.OverrunPolicy.FLAG;
+			var budgeted = new BudgetedGuidance(guidance, (long) (Double.parseDouble(budget) * 1000), policy);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.print(budgeted.getReport())));
+			guidance = budgeted;
+		}
+		var model = new GameModel(guidance, new SplittableRandom(), atmosphere);
+		var recorder = recordingPath == null ? null : FlightRecorder.create(Path.of(recordingPath), model.getRocket());
+		if (mode.equals("--headless")) {
+			float duration = arguments.size() > 1 ? Float.parseFloat(arguments.get(1)) : 600.0f;
+			runHeadless(model, duration, recorder, startServer(servePort, model), integrator.get(), timeStep);
+			return;
+		}
+		if (mode.equals("--replay")) {
+			if (arguments.size() < 2) throw new IllegalArgumentException("Missing telemetry file to replay.");
+			var player = new ReplayPlayer(TelemetryFile.open(Path.of(arguments.get(1))), model);
+			new ReplayFrame(player).setVisible(true);
+			return;
+		}
+		if (mode.equals("--guidance-host")) {
+			if (arguments.size() < 2) throw new IllegalArgumentException("Missing socket path to host guidance on.");
+			try (var host = GuidanceHost.bind(Path.of(arguments.get(1)), SimpleLaunchGuidance::new)) {
+				System.out.println("Hosting guidance on " + host.getPath());
+				host.serve();
+			}
+			return;
+		}
+		if (mode.equals("--tournament")) {
+			Path jarDirectory = arguments.size() > 1 ? Path.of(arguments.get(1)) : null;
+			int flights = arguments.size() > 2 ? Integer.parseInt(arguments.get(2)) : 100;
+			var tournament = Tournament.discover(jarDirectory).options(batchOptions);
+			System.out.print(Tournament.formatLeaderboard(tournament.run(System.nanoTime(), flights)));
+			return;
+		}
+		if (mode.equals("--batch")) {
+			int rockets = arguments.size() > 1 ? Integer.parseInt(arguments.get(1)) : 4096;
+			float duration = arguments.size() > 2 ? Float.parseFloat(arguments.get(2)) : 60.0f;
+			long seed = arguments.size() > 3 ? Long.parseLong(arguments.get(3)) : System.nanoTime();
+			System.out.print(new BatchCrossCheck(rockets, duration, seed, timeStep, atmosphere).run());
+			return;
+		}
+		if (mode.equals("--optimize")) {
+			String method = arguments.size() > 1 ? arguments.get(1) : "cmaes";
+			int candidates = arguments.size() > 2 ? Integer.parseInt(arguments.get(2)) : 1000;
+			long seed = arguments.size() > 3 ? Long.parseLong(arguments.get(3)) : System.nanoTime();
+			System.out.print(optimize(method, candidates, seed, batchOptions));
+			return;
+		}
+		if (mode.equals("--monte-carlo")) {
+			int runs = arguments.size() > 1 ? Integer.parseInt(arguments.get(1)) : 1000;
+			long seed = arguments.size() > 2 ? Long.parseLong(arguments.get(2)) : System.nanoTime();
+			// Each run connects to the host on its own, and disconnects when
+			// it's over.
+			Supplier<? extends GuidanceComputer> guidanceFactory = remoteGuidance != null ? remoteGuidance : () -> new SimpleLaunchGuidance(false);
+			var runner = new MonteCarloRunner(guidanceFactory).options(batchOptions);
+			System.out.println(runner.run(seed, runs));
+			return;
+		}
+		var frame = new GameFrame(createWorld(model, vehicles == null ? 1 : Integer.parseInt(vehicles), atmosphere));
+		if (speed != null) frame.getUpdater().setSpeed(Double.parseDouble(speed));
+		var server = startServer(servePort, model);
+		if (recorder != null) frame.getUpdater().getPhysics().addTickListener(recorder);
+		if (server != null) frame.getUpdater().getPhysics().addTickListener(server);
+		if (recorder != null || server != null) {
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				// Stop the physics first, so that nothing is published while
+				// the recorder and server are being closed.
+				var updater = frame.getUpdater();
+				updater.setRunning(false);
+				try {
+					updater.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				if (recorder != null) closeRecorder(recorder);
+				if (server != null) closeServer(server);
+			}));
+		}
 		frame.setVisible(true);
 	}
+
+	/**
+	 * Creates a world of vehicles lined up along the ground, the first of
+	 * which is the given model, and the rest of which fly a quiet copy of
+	 * the simple launch guidance.
+	 * @param model The first vehicle.
+	 * @param vehicles The total number of vehicles.
+	 * @param atmosphere The atmosphere for the rest of the vehicles to fly in.
+	 * @return The world.
+	 */
+	private static World createWorld(GameModel model, int vehicles, AtmosphereTable atmosphere) {
+		if (vehicles < 1) throw new IllegalArgumentException("There must be at least one vehicle.");
+		List<GameModel> models = new ArrayList<>(vehicles);
+		models.add(model);
+		for (int i = 1; i < vehicles; i++) {
+			// Quiet, or hundreds of vehicles printing every tick would all
+			// wait on standard output.
+			var other = new GameModel(new SimpleLaunchGuidance(false), new SplittableRandom(), atmosphere);
+			other.getRocket().getPosition().x = i * VEHICLE_SPACING;
+			models.add(other);
+		}
+		return new World(models);
+	}
+
+	/**
+	 * Searches for the best ascent profile for {@link GravityTurnGuidance}.
+	 * @param method The search method: grid, random or cmaes.
+	 * @param budget The rough number of candidates to fly.
+	 * @param seed The seed of the search.
+	 * @param options The options to fly each candidate with.
+	 * @return The best candidate found.
+	 */
+	private static AscentOptimizer.Result optimize(String method, int budget, long seed, FlightOptions options) {
+		var optimizer = new AscentOptimizer(GravityTurnGuidance::new, GravityTurnGuidance.Profile.NAMES, GravityTurnGuidance.Profile.LOWER, GravityTurnGuidance.Profile.UPPER)
+				.options(options);
+		int parameters = GravityTurnGuidance.Profile.NAMES.length;
+		return switch (method) {
+			case "grid" -> optimizer.grid(Math.max(1, (int) Math.floor(Math.pow(budget, 1.0 / parameters) + 1e-9)), seed);
+			case "random" -> optimizer.random(budget, seed);
+			case "cmaes" -> {
+				int population = 4 + (int) (3 * Math.log(parameters)) * 2;
+				yield optimizer.cmaEs(Math.max(1, budget / population), population, seed);
+			}
+			default -> throw new IllegalArgumentException("Unknown search method: " + method);
+		};
+	}
+
+	/**
+	 * Removes an option and its value from the list of arguments.
+	 * @param arguments The arguments.
+	 * @param name The name of the option.
+	 * @return The option's value, or null if it wasn't given.
+	 */
+	private static String takeOption(List<String> arguments, String name) {
+		int index = arguments.indexOf(name);
+		if (index == -1) return null;
+		if (index + 1 >= arguments.size()) throw new IllegalArgumentException("Missing value for " + name);
+		String value = arguments.remove(index + 1);
+		arguments.remove(index);
+		return value;
+	}
+
+	/**
+	 * Flies the model's rocket without any user interface, as fast as
+	 * possible, and prints a summary of the flight.
+	 * @param model The model to fly.
+	 * @param duration The number of seconds after launch to fly for.
+	 * @param recorder A recorder for the flight's telemetry, or null.
+	 * @param server A server to stream the flight's telemetry to, or null.
+	 * @param integrator The integrator to advance the physics with.
+	 * @param timeStep The length of each tick, in seconds.
+	 */
+	private static void runHeadless(GameModel model, float duration, FlightRecorder recorder, TelemetryServer server, Integrator integrator, double timeStep) {
+		var simulation = new Simulation(model, timeStep);
+		simulation.getPhysics().setIntegrator(integrator);
+		if (recorder != null) simulation.getPhysics().addTickListener(recorder);
+		if (server != null) simulation.getPhysics().addTickListener(server);
+		long start = System.nanoTime();
+		simulation.startLaunch();
+		simulation.runUntil(m -> false, duration);
+		double realSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+		if (recorder != null) closeRecorder(recorder);
+		if (server != null) closeServer(server);
+		var rocket = model.getRocket();
+		System.out.printf("Simulated %d ticks (T+%.3f s) in %.3f s of real time.%n", simulation.getTicks(), model.getTimeSinceLaunch(), realSeconds);
+		System.out.printf("Altitude: %.3f Km, Longitude: %.3f Km%n", rocket.getAltitude() / 1000.0f, rocket.getLongitude() / 1000.0f);
+		System.out.printf("Velocity: (vert = %.3f m/s, long = %.3f m/s)%n", rocket.getVelocity().y, rocket.getVelocity().x);
+		System.out.printf("Pitch: %.2f degrees, Mass: %.2f Kg%n", rocket.getOrientationDegrees(), rocket.getMass());
+	}
+
+	/**
+	 * Creates a factory which connects a new remote guidance computer to a
+	 * guidance host every time it's called.
+	 * @param path The path of the host's socket.
+	 * @param pipelineDepth The number of calls to send ahead of their replies.
+	 * @return The factory.
+	 */
+	private static Supplier<RemoteGuidanceComputer> remoteGuidance(Path path, int pipelineDepth) {
+		return () -> {
+			try {
+				return RemoteGuidanceComputer.connect(path, pipelineDepth);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+	}
+
+	/**
+	 * Starts streaming a model's telemetry to clients on the local machine.
+	 * @param port The port to listen on, or null not to serve telemetry.
+	 * @param model The model whose telemetry to stream.
+	 * @return The server, or null if no port was given.
+	 * @throws IOException If the server can't listen on the port.
+	 */
+	private static TelemetryServer startServer(String port, GameModel model) throws IOException {
+		if (port == null) return null;
+		var server = TelemetryServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(port)), model.getRocket(), 1);
+		System.out.println("Serving telemetry on " + server.getAddress());
+		return server;
+	}
+
+	private static void closeServer(TelemetryServer server) {
+		try {
+			server.close(SERVER_DRAIN_MILLIS);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void closeRecorder(FlightRecorder recorder) {
+		try {
+			recorder.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
 }
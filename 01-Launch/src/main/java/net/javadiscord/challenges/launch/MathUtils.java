@@ -10,4 +10,18 @@ public class MathUtils {
 		}
 		return r;
 	}
+
+	/**
+	 * Interpolates between two angles along the shortest arc between them.
+	 * @param a The angle to start from, in radians.
+	 * @param b The angle to end at, in radians.
+	 * @param alpha How far to go from a to b, between 0 and 1.
+	 * @return The interpolated angle, in radians. This isn't normalized.
+	 */
+	public static float lerpRadians(float a, float b, float alpha) {
+		float d = (float) ((b - a) % (2 * Math.PI));
+		if (d > Math.PI) d -= 2 * Math.PI;
+		if (d < -Math.PI) d += 2 * Math.PI;
+		return a + d * alpha;
+	}
 }
@@ -0,0 +1,58 @@
+package net.javadiscord.challenges.launch;
+
+/**
+ * Runs tasks for a guidance computer at given points in simulated time. Use
+ * this instead of threads and sleeping to sequence anything over time, so
+ * that it happens at the same point in the flight however fast the
+ * simulation is running.
+ * <p>
+ *     Tasks run on the physics thread, at the start of the first tick at or
+ *     after the time they're due, before the guidance computer is given
+ *     control of the rocket. Tasks due at the same time run in the order they
+ *     were scheduled. All pending tasks are cancelled if the launch is
+ *     aborted.
+ * </p>
+ */
+public interface Scheduler {
+	/**
+	 * @return The current simulated time, in seconds.
+	 */
+	double getTime();
+
+	/**
+	 * Schedules a task to run once.
+	 * @param delay The amount of simulated time to wait before running the
+	 *              task, in seconds.
+	 * @param task The task to run.
+	 * @return A handle to cancel the task with.
+	 */
+	Task schedule(double delay, Runnable task);
+
+	/**
+	 * Schedules a task to run repeatedly, until it's cancelled. If a tick is
+	 * longer than the period, the task runs as many times during that tick as
+	 * it was due.
+	 * @param delay The amount of simulated time to wait before running the
+	 *              task for the first time, in seconds.
+	 * @param period The amount of simulated time between runs, in seconds.
+	 * @param task The task to run.
+	 * @return A handle to cancel the task with.
+	 */
+	Task scheduleAtFixedRate(double delay, double period, Runnable task);
+
+	/**
+	 * A scheduled task.
+	 */
+	interface Task {
+		/**
+		 * Stops the task from running again. This has no effect if it's
+		 * already been cancelled, or was a one-off task that has already run.
+		 */
+		void cancel();
+
+		/**
+		 * @return True if the task was cancelled.
+		 */
+		boolean isCancelled();
+	}
+}
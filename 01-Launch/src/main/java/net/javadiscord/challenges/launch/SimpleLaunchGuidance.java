@@ -1,53 +1,71 @@
 package net.javadiscord.challenges.launch;
 
 import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.ThrusterGroup;
 
 /**
  * Sample launch guidance system which just starts up the engines and lifts off
  * vertically, with no stabilization or targeting.
  */
 public class SimpleLaunchGuidance implements GuidanceComputer {
+	/**
+	 * Whether to print progress messages. Batches of many flights should
+	 * turn this off, since they would otherwise all wait on standard output.
+	 */
+	private final boolean verbose;
+	private ThrusterGroup mainEngines;
+
+	public SimpleLaunchGuidance() {
+		this(true);
+	}
+
+	public SimpleLaunchGuidance(boolean verbose) {
+		this.verbose = verbose;
+	}
+
 	@Override
-	public void launchSequenceStart(Rocket rocket, float t) {
-		System.out.println("Starting launch sequence.");
+	public void launchSequenceStart(Rocket rocket, float t, Scheduler scheduler) {
+		log("Starting launch sequence.");
+		// Look up the thruster groups we need once, instead of every time we use them.
+		mainEngines = rocket.getThrusterGroup("ME");
 		// Prepare the thrusters' throttles and the RCS thrusters' controls for maximum maneuverability.
-		rocket.doForAllThrusters("ME", th -> {
+		mainEngines.forEach(th -> {
 			th.setThrottle(1.0f);
 			th.setActive(false);
-			System.out.println("Main engine " + th.getName() + " initialized.");
+			log("Main engine " + th.getName() + " initialized.");
 		});
 		rocket.getThrusterByName("ME 1").setGimbal(10);
 		rocket.getThrusterByName("ME 3").setGimbal(-10);
-		System.out.println("Gimbal test started!");
-		new Thread(() -> {
-			try {
-				Thread.sleep(1000);
-				rocket.getThrusterByName("ME 1").setGimbal(-10);
-				rocket.getThrusterByName("ME 3").setGimbal(10);
-				Thread.sleep(1000);
-				rocket.getThrusterByName("ME 1").setGimbal(0);
-				rocket.getThrusterByName("ME 3").setGimbal(0);
-				System.out.println("Gimbal test complete!");
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-		}).start();
+		log("Gimbal test started!");
+		scheduler.schedule(1, () -> {
+			rocket.getThrusterByName("ME 1").setGimbal(-10);
+			rocket.getThrusterByName("ME 3").setGimbal(10);
+		});
+		scheduler.schedule(2, () -> {
+			rocket.getThrusterByName("ME 1").setGimbal(0);
+			rocket.getThrusterByName("ME 3").setGimbal(0);
+			log("Gimbal test complete!");
+		});
 		rocket.doForAllThrusters("RCS", rcs -> {
 			rcs.setThrottle(rcs.getMaxThrottle());
 			rcs.setActive(false);
-			System.out.println("RCS thruster " + rcs.getName() + " initialized.");
+			log("RCS thruster " + rcs.getName() + " initialized.");
 		});
-		System.out.println("All systems initialized for launch!");
+		log("All systems initialized for launch!");
 	}
 
 	@Override
 	public void launch(Rocket rocket) {
-		System.out.println("Launching...");
-		rocket.doForAllThrusters("ME", t -> t.setActive(true));
+		log("Launching...");
+		mainEngines.setActive(true);
 	}
 
 	@Override
 	public void controlRocket(Rocket rocket, float t) {
-		System.out.println(t);
+		if (verbose) System.out.println(t);
+	}
+
+	private void log(String message) {
+		if (verbose) System.out.println(message);
 	}
 }
@@ -0,0 +1,389 @@
+package net.javadiscord.challenges.launch.batch;
+
+import net.javadiscord.challenges.launch.GuidanceComputer;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Searches for the parameters of a guidance computer which fly the best
+ * ascent, by flying candidates in headless simulations spread over a
+ * fork-join pool.
+ * <p>
+ *     Every candidate flies the same seeds, so they all face the same
+ *     turbulence, and differences in score come from the parameters alone.
+ *     A search is reproducible from its seed, however many cores it runs on.
+ *     By default, flights are scored with
+ *     {@link Tournament.Standing#scoreOf(FlightResult)}, which rewards
+ *     reaching the Karman line at orbital speed with as much fuel left as
+ *     possible.
+ * </p>
+ */
+public class AscentOptimizer {
+	private final Function<double[], ? extends GuidanceComputer> guidanceFactory;
+	private final String[] names;
+	private final double[] lower;
+	private final double[] upper;
+
+	private ToDoubleFunction<FlightResult> objective = Tournament.Standing::scoreOf;
+	private int flightsPerCandidate = 1;
+	private FlightOptions options = new FlightOptions();
+
+	/**
+	 * @param guidanceFactory Creates a guidance computer from a candidate's
+	 *                        parameters.
+	 * @param names The names of the parameters.
+	 * @param lower The lowest value of each parameter to search.
+	 * @param upper The highest value of each parameter to search.
+	 */
+	public AscentOptimizer(Function<double[], ? extends GuidanceComputer> guidanceFactory, String[] names, double[] lower, double[] upper) {
+		if (names.length == 0 || names.length != lower.length || names.length != upper.length) {
+			throw new IllegalArgumentException("Names and bounds must have the same, non-zero number of parameters.");
+		}
+		for (int i = 0; i < names.length; i++) {
+			if (!(lower[i] <= upper[i])) throw new IllegalArgumentException("Bad bounds for " + names[i]);
+		}
+		this.guidanceFactory = guidanceFactory;
+		this.names = names.clone();
+		this.lower = lower.clone();
+		this.upper = upper.clone();
+	}
+
+	/**
+	 * @param objective Scores a flight, where higher is better.
+	 * @return This optimizer.
+	 */
+	public AscentOptimizer objective(ToDoubleFunction<FlightResult> objective) {
+		this.objective = objective;
+		return this;
+	}
+
+	/**
+	 * @param flightsPerCandidate The number of seeds each candidate flies,
+	 *                            over which its score is averaged.
+	 * @return This optimizer.
+	 */
+	public AscentOptimizer flightsPerCandidate(int flightsPerCandidate) {
+		if (flightsPerCandidate < 1) throw new IllegalArgumentException("Each candidate must fly at least once.");
+		this.flightsPerCandidate = flightsPerCandidate;
+		return this;
+	}
+
+	/**
+	 * @param options The duration, physics, atmosphere and pool of every
+	 *                flight.
+	 * @return This optimizer.
+	 */
+	public AscentOptimizer options(FlightOptions options) {
+		this.options = options;
+		return this;
+	}
+
+	/**
+	 * Flies every point of an evenly spaced grid over the parameter space.
+	 * @param pointsPerAxis The number of values of each parameter to try.
+	 * @param seed The seed from which the flights' seeds are generated.
+	 * @return The best candidate.
+	 */
+	public Result grid(int pointsPerAxis, long seed) {
+		if (pointsPerAxis < 1) throw new IllegalArgumentException("There must be at least one point per axis.");
+		long count = 1;
+		for (int i = 0; i < names.length; i++) {
+			count = Math.multiplyExact(count, pointsPerAxis);
+		}
+		if (count > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many grid points: " + count);
+		var candidates = new double[(int) count][names.length];
+		for (int c = 0; c < candidates.length; c++) {
+			int index = c;
+			for (int i = 0; i < names.length; i++) {
+				candidates[c][i] = pointsPerAxis == 1 ? 0.5 : (index % pointsPerAxis) / (pointsPerAxis - 1.0);
+				index /= pointsPerAxis;
+			}
+		}
+		return search(candidates, seed);
+	}
+
+	/**
+	 * Flies candidates drawn uniformly at random from the parameter space.
+	 * @param candidates The number of candidates to fly.
+	 * @param seed The seed from which the candidates and the flights' seeds
+	 *             are generated.
+	 * @return The best candidate.
+	 */
+	public Result random(int candidates, long seed) {
+		var random = new SplittableRandom(seed);
+		var points = new double[candidates][names.length];
+		for (var point : points) {
+			for (int i = 0; i < point.length; i++) {
+				point[i] = random.nextDouble();
+			}
+		}
+		return search(points, random.nextLong());
+	}
+
+	/**
+	 * Searches with a covariance matrix adaptation evolution strategy. Each
+	 * generation, a population of candidates is sampled from a multivariate
+	 * normal distribution and flown in parallel, and the distribution's
+	 * mean, covariance and step size are moved towards the best of them.
+	 * This learns which parameters matter, and how they interact, so it
+	 * usually needs far fewer flights than a grid or random search.
+	 * <p>
+	 *     The search runs over the parameters scaled to the unit cube, and
+	 *     samples outside it are clamped to its surface.
+	 * </p>
+	 * @param generations The number of generations.
+	 * @param populationSize The number of candidates in each generation.
+	 * @param seed The seed from which the candidates and the flights' seeds
+	 *             are generated.
+	 * @return The best candidate flown.
+	 */
+	public Result cmaEs(int generations, int populationSize, long seed) {
+		if (populationSize < 4) throw new IllegalArgumentException("The population must have at least 4 candidates.");
+		long start = System.nanoTime();
+		var random = new SplittableRandom(seed);
+		long[] seeds = seeds(random.nextLong());
+		int n = names.length;
+		int mu = populationSize / 2;
+		double[] weights = new double[mu];
+		double weightSum = 0;
+		for (int i = 0; i < mu; i++) {
+			weights[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+			weightSum += weights[i];
+		}
+		double weightSquareSum = 0;
+		for (int i = 0; i < mu; i++) {
+			weights[i] /= weightSum;
+			weightSquareSum += weights[i] * weights[i];
+		}
+		double muEff = 1 / weightSquareSum;
+		double cSigma = (muEff + 2) / (n + muEff + 5);
+		double dSigma = 1 + 2 * Math.max(0, Math.sqrt((muEff - 1) / (n + 1)) - 1) + cSigma;
+		double cC = (4 + muEff / n) / (n + 4 + 2 * muEff / n);
+		double c1 = 2 / ((n + 1.3) * (n + 1.3) + muEff);
+		double cMu = Math.min(1 - c1, 2 * (muEff - 2 + 1 / muEff) / ((n + 2) * (n + 2) + muEff));
+		double chiN = Math.sqrt(n) * (1 - 1.0 / (4 * n) + 1.0 / (21.0 * n * n));
+
+		double[] mean = new double[n];
+		Arrays.fill(mean, 0.5);
+		double sigma = 0.3;
+		double[][] covariance = identity(n);
+		double[][] factor = identity(n);
+		double[] pathSigma = new double[n];
+		double[] pathC = new double[n];
+
+		Candidate best = null;
+		int evaluations = 0;
+		var z = new double[populationSize][n];
+		var y = new double[populationSize][n];
+		var x = new double[populationSize][n];
+		for (int generation = 0; generation < generations; generation++) {
+			for (int k = 0; k < populationSize; k++) {
+				for (int i = 0; i < n; i++) {
+					z[k][i] = random.nextGaussian();
+				}
+				multiply(factor, z[k], y[k]);
+				for (int i = 0; i < n; i++) {
+					x[k][i] = Math.min(1, Math.max(0, mean[i] + sigma * y[k][i]));
+					y[k][i] = (x[k][i] - mean[i]) / sigma;
+				}
+				solveLower(factor, y[k], z[k]);
+			}
+			var candidates = evaluate(x, seeds);
+			evaluations += populationSize;
+			Integer[] order = new Integer[populationSize];
+			for (int k = 0; k < populationSize; k++) order[k] = k;
+			Arrays.sort(order, Comparator.comparingDouble((Integer k) -> candidates[k].score()).reversed());
+			if (best == null || candidates[order[0]].score() > best.score()) best = candidates[order[0]];
+
+			double[] yMean = new double[n];
+			double[] zMean = new double[n];
+			for (int j = 0; j < mu; j++) {
+				for (int i = 0; i < n; i++) {
+					yMean[i] += weights[j] * y[order[j]][i];
+					zMean[i] += weights[j] * z[order[j]][i];
+				}
+			}
+			for (int i = 0; i < n; i++) {
+				mean[i] += sigma * yMean[i];
+			}
+
+			double sigmaNorm = 0;
+			for (int i = 0; i < n; i++) {
+				pathSigma[i] = (1 - cSigma) * pathSigma[i] + Math.sqrt(cSigma * (2 - cSigma) * muEff) * zMean[i];
+				sigmaNorm += pathSigma[i] * pathSigma[i];
+			}
+			sigmaNorm = Math.sqrt(sigmaNorm);
+			boolean stalled = sigmaNorm / Math.sqrt(1 - Math.pow(1 - cSigma, 2 * (generation + 1))) >= (1.4 + 2.0 / (n + 1)) * chiN;
+			double h = stalled ? 0 : 1;
+			for (int i = 0; i < n; i++) {
+				pathC[i] = (1 - cC) * pathC[i] + h * Math.sqrt(cC * (2 - cC) * muEff) * yMean[i];
+			}
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j <= i; j++) {
+					double rankMu = 0;
+					for (int k = 0; k < mu; k++) {
+						rankMu += weights[k] * y[order[k]][i] * y[order[k]][j];
+					}
+					double c = (1 - c1 - cMu) * covariance[i][j]
+							+ c1 * (pathC[i] * pathC[j] + (1 - h) * cC * (2 - cC) * covariance[i][j])
+							+ cMu * rankMu;
+					covariance[i][j] = c;
+					covariance[j][i] = c;
+				}
+			}
+			sigma *= Math.exp((cSigma / dSigma) * (sigmaNorm / chiN - 1));
+			sigma = Math.min(1, sigma);
+			if (!cholesky(covariance, factor)) {
+				// The covariance has lost its positive definiteness to rounding,
+				// so start its shape over.
+				covariance = identity(n);
+				factor = identity(n);
+			}
+		}
+		return best == null ? null : toResult(best, evaluations, start);
+	}
+
+	/**
+	 * Flies a set of candidates, and picks the best.
+	 * @param candidates The candidates, in the unit cube.
+	 * @param seed The seed from which the flights' seeds are generated.
+	 * @return The best candidate.
+	 */
+	private Result search(double[][] candidates, long seed) {
+		if (candidates.length == 0) throw new IllegalArgumentException("There are no candidates to search.");
+		long start = System.nanoTime();
+		var evaluated = evaluate(candidates, seeds(seed));
+		var best = evaluated[0];
+		for (var candidate : evaluated) {
+			if (candidate.score() > best.score()) best = candidate;
+		}
+		return toResult(best, candidates.length, start);
+	}
+
+	private long[] seeds(long seed) {
+		var random = new SplittableRandom(seed);
+		long[] seeds = new long[flightsPerCandidate];
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = random.nextLong();
+		}
+		return seeds;
+	}
+
+	/**
+	 * Flies every candidate on every seed, spread over the options' pool.
+	 */
+	private Candidate[] evaluate(double[][] candidates, long[] seeds) {
+		double[][] parameters = new double[candidates.length][];
+		for (int c = 0; c < candidates.length; c++) {
+			parameters[c] = scale(candidates[c]);
+		}
+		FlightResult[] flights = options.flyAll(candidates.length, seeds, (candidate, run, seed) -> fly(parameters[candidate], run, seed));
+		var evaluated = new Candidate[candidates.length];
+		for (int c = 0; c < candidates.length; c++) {
+			double score = 0;
+			for (int s = 0; s < seeds.length; s++) {
+				score += objective.applyAsDouble(flights[c * seeds.length + s]);
+			}
+			evaluated[c] = new Candidate(parameters[c], score / seeds.length, flights[c * seeds.length]);
+		}
+		return evaluated;
+	}
+
+	private FlightResult fly(double[] parameters, int run, long seed) {
+		return new MonteCarloRunner(() -> guidanceFactory.apply(parameters))
+				.options(options)
+				.fly(run, new SplittableRandom(seed));
+	}
+
+	/**
+	 * Maps a point in the unit cube to the parameters' bounds.
+	 */
+	private double[] scale(double[] unit) {
+		double[] parameters = new double[unit.length];
+		for (int i = 0; i < unit.length; i++) {
+			parameters[i] = lower[i] + unit[i] * (upper[i] - lower[i]);
+		}
+		return parameters;
+	}
+
+	private Result toResult(Candidate best, int evaluations, long start) {
+		return new Result(names, best.parameters(), best.score(), best.flight(), evaluations, (System.nanoTime() - start) / 1_000_000_000.0);
+	}
+
+	private static double[][] identity(int n) {
+		double[][] m = new double[n][n];
+		for (int i = 0; i < n; i++) m[i][i] = 1;
+		return m;
+	}
+
+	/**
+	 * Computes out = l * v, for a lower triangular matrix l.
+	 */
+	private static void multiply(double[][] l, double[] v, double[] out) {
+		for (int i = 0; i < v.length; i++) {
+			double sum = 0;
+			for (int j = 0; j <= i; j++) sum += l[i][j] * v[j];
+			out[i] = sum;
+		}
+	}
+
+	/**
+	 * Solves l * out = v, for a lower triangular matrix l.
+	 */
+	private static void solveLower(double[][] l, double[] v, double[] out) {
+		for (int i = 0; i < v.length; i++) {
+			double sum = v[i];
+			for (int j = 0; j < i; j++) sum -= l[i][j] * out[j];
+			out[i] = sum / l[i][i];
+		}
+	}
+
+	/**
+	 * Computes the lower triangular Cholesky factor of a symmetric matrix.
+	 * @return False if the matrix isn't positive definite.
+	 */
+	private static boolean cholesky(double[][] a, double[][] l) {
+		int n = a.length;
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j <= i; j++) {
+				double sum = a[i][j];
+				for (int k = 0; k < j; k++) sum -= l[i][k] * l[j][k];
+				if (i == j) {
+					if (!(sum > 0)) return false;
+					l[i][i] = Math.sqrt(sum);
+				} else {
+					l[i][j] = sum / l[j][j];
+				}
+			}
+		}
+		return true;
+	}
+
+	private record Candidate(double[] parameters, double score, FlightResult flight) {}
+
+	/**
+	 * The best candidate found by a search.
+	 * @param names The names of the parameters.
+	 * @param parameters The best parameters.
+	 * @param score Their score, averaged over all of their flights.
+	 * @param flight Their first flight.
+	 * @param evaluations The number of candidates flown.
+	 * @param elapsedSeconds The real time taken by the search, in seconds.
+	 */
+	public record Result(String[] names, double[] parameters, double score, FlightResult flight, int evaluations, double elapsedSeconds) {
+		@Override
+		public String toString() {
+			var sb = new StringBuilder(String.format("Best of %d candidates in %.1f s, score %.3f%n", evaluations, elapsedSeconds, score));
+			for (int i = 0; i < names.length; i++) {
+				sb.append(String.format("  %-20s %.4f%n", names[i], parameters[i]));
+			}
+			sb.append(String.format("Apogee %.1f Km, final altitude %.1f Km, horizontal speed %.0f m/s, vertical speed %.0f m/s, fuel left %.0f Kg%n",
+					flight.apogee() / 1000, flight.finalAltitude() / 1000, flight.finalHorizontalSpeed(), flight.finalVerticalSpeed(), flight.fuelRemaining()));
+			return sb.toString();
+		}
+	}
+}
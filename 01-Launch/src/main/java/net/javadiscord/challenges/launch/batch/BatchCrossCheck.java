@@ -0,0 +1,183 @@
+package net.javadiscord.challenges.launch.batch;
+
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.control.PhysicsEngine;
+import net.javadiscord.challenges.launch.model.AtmosphereTable;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.ThrusterGroup;
+
+import java.util.SplittableRandom;
+
+/**
+ * Flies a batch of rockets with a spread of throttle and gimbal settings
+ * through the {@link BatchSimulator}, measures how many rocket-ticks per
+ * second each of its kernels manages, and checks a sample of the rockets
+ * against the same flights through the object-based {@link PhysicsEngine}.
+ * The two should only differ by rounding, which mostly comes from the engine
+ * storing the rocket's state and fuel as floats between ticks, so the
+ * deviations grow slowly with the length of the flight.
+ */
+public class BatchCrossCheck {
+	/**
+	 * The number of rockets to fly through the physics engine.
+	 */
+	private static final int SAMPLE_SIZE = 64;
+
+	/**
+	 * The number of ticks to fly before timing anything, so that the JIT
+	 * compiler has finished with the loops being timed.
+	 */
+	private static final int WARM_UP_TICKS = 2000;
+
+	/**
+	 * The RCS thruster which fires alongside the main engines.
+	 */
+	private static final String RCS_THRUSTER = "RCS Top Left";
+
+	private final int rockets;
+	private final float seconds;
+	private final long seed;
+	private final double timeStep;
+	private final AtmosphereTable atmosphere;
+
+	/**
+	 * @param rockets The number of rockets in the batch.
+	 * @param seconds The number of seconds after liftoff to fly for.
+	 * @param seed The seed from which each rocket's generator is split.
+	 * @param timeStep The time step, in seconds.
+	 * @param atmosphere The atmosphere to fly in.
+	 */
+	public BatchCrossCheck(int rockets, float seconds, long seed, double timeStep, AtmosphereTable atmosphere) {
+		this.rockets = rockets;
+		this.seconds = seconds;
+		this.seed = seed;
+		this.timeStep = timeStep;
+		this.atmosphere = atmosphere;
+	}
+
+	/**
+	 * Runs the check.
+	 * @return A human-readable report of the throughput and deviations.
+	 */
+	public String run() {
+		int ticks = (int) Math.ceil(seconds / timeStep);
+		var sb = new StringBuilder(String.format("%d rockets, %d ticks of %.4f s%n", rockets, ticks, timeStep));
+
+		BatchSimulator batch = null;
+		BatchKernel best = BatchKernel.best();
+		BatchKernel[] kernels = best instanceof ScalarBatchKernel
+				? new BatchKernel[]{best}
+				: new BatchKernel[]{new ScalarBatchKernel(), best};
+		for (var kernel : kernels) {
+			var template = newModel(new SplittableRandom()).getRocket();
+			var mainEngines = template.getThrusterGroup("ME");
+			var rcs = template.getThrusterGroup(RCS_THRUSTER);
+			if (mainEngines.size() == 0 || rcs.size() != 1) {
+				throw new IllegalStateException("The rocket has no main engines, or no single " + RCS_THRUSTER + " thruster.");
+			}
+			var warmUp = new BatchSimulator(template, Math.min(rockets, 1024), seed, atmosphere, kernel);
+			for (int tick = 0; tick < WARM_UP_TICKS; tick++) {
+				warmUp.step(timeStep);
+			}
+			batch = new BatchSimulator(template, rockets, seed, atmosphere, kernel);
+			for (int i = 0; i < rockets; i++) {
+				disperse(batch, i, mainEngines, rcs.getRocketIndex(0));
+			}
+			long start = System.nanoTime();
+			for (int tick = 0; tick < ticks; tick++) {
+				batch.step(timeStep);
+			}
+			double elapsed = (System.nanoTime() - start) / 1_000_000_000.0;
+			sb.append(String.format("%-24s %,15.0f rocket-ticks/s%n", kernel.getName(), (double) rockets * ticks / elapsed));
+		}
+
+		// Fly a sample of the same rockets, spread over the batch, through the
+		// physics engine.
+		int sample = Math.min(SAMPLE_SIZE, rockets);
+		var warmUp = newModel(new SplittableRandom(seed));
+		warmUp.restoreClock(0, 0, true, false);
+		var warmUpPhysics = new PhysicsEngine(warmUp);
+		for (int tick = 0; tick < WARM_UP_TICKS; tick++) {
+			warmUpPhysics.update(timeStep);
+		}
+		double maxPosition = 0, maxVelocity = 0, maxOrientation = 0, maxFuel = 0, maxDistance = 0;
+		long start = System.nanoTime();
+		for (int s = 0; s < sample; s++) {
+			int index = (int) ((long) s * rockets / sample);
+			var model = newModel(generatorOf(index));
+			var rocket = model.getRocket();
+			for (int t = 0; t < rocket.getThrusterCount(); t++) {
+				var thruster = rocket.getThruster(t);
+				thruster.setActive(batch.isActive(index, t));
+				thruster.setThrottle(batch.getThrottle(index, t));
+				thruster.setGimbal(batch.getGimbal(index, t));
+			}
+			model.restoreClock(0, 0, true, false);
+			var physics = new PhysicsEngine(model);
+			for (int tick = 0; tick < ticks; tick++) {
+				physics.update(timeStep);
+			}
+			maxPosition = Math.max(maxPosition, Math.hypot(rocket.getPosition().x - batch.getPositionX(index), rocket.getPosition().y - batch.getPositionY(index)));
+			maxVelocity = Math.max(maxVelocity, Math.hypot(rocket.getVelocity().x - batch.getVelocityX(index), rocket.getVelocity().y - batch.getVelocityY(index)));
+			maxOrientation = Math.max(maxOrientation, angleBetween(rocket.getOrientation(), batch.getOrientation(index)));
+			maxFuel = Math.max(maxFuel, Math.abs(rocket.getMass() - batch.getMass(index)));
+			maxDistance = Math.max(maxDistance, Math.hypot(batch.getPositionX(index), batch.getPositionY(index)));
+		}
+		double elapsed = (System.nanoTime() - start) / 1_000_000_000.0;
+		sb.append(String.format("%-24s %,15.0f rocket-ticks/s%n", "physics engine", (double) sample * ticks / elapsed));
+		sb.append(String.format("Largest deviation of %d rockets from the physics engine: position %.3f m (of up to %.0f m travelled), velocity %.4f m/s, orientation %.2e rad, mass %.3f Kg%n",
+				sample, maxPosition, maxDistance, maxVelocity, maxOrientation, maxFuel));
+		return sb.toString();
+	}
+
+	/**
+	 * Gives each rocket its own throttle and gimbal settings, with all of its
+	 * main engines and one RCS thruster firing.
+	 */
+	private void disperse(BatchSimulator batch, int i, ThrusterGroup mainEngines, int rcs) {
+		float f = rockets == 1 ? 0.5f : i / (rockets - 1.0f);
+		for (int t = 0; t < batch.getThrusterCount(); t++) {
+			batch.setActive(i, t, t == rcs);
+			batch.setThrottle(i, t, 0.05f + 0.1f * f);
+		}
+		for (int e = 0; e < mainEngines.size(); e++) {
+			int t = mainEngines.getRocketIndex(e);
+			batch.setActive(i, t, true);
+			batch.setThrottle(i, t, 0.7f + 0.35f * f);
+		}
+		batch.setGimbal(i, mainEngines.getRocketIndex(0), -5 + 10 * f);
+	}
+
+	private GameModel newModel(SplittableRandom random) {
+		return new GameModel(new OpenLoopGuidance(), random, atmosphere);
+	}
+
+	/**
+	 * Gets a generator equal to the one the batch gives a rocket.
+	 */
+	private SplittableRandom generatorOf(int index) {
+		var root = new SplittableRandom(seed);
+		SplittableRandom random = null;
+		for (int i = 0; i <= index; i++) {
+			random = root.split();
+		}
+		return random;
+	}
+
+	private static double angleBetween(double a, double b) {
+		double d = Math.abs(a - b) % (2 * Math.PI);
+		return Math.min(d, 2 * Math.PI - d);
+	}
+
+	/**
+	 * Leaves the thrusters as they were set before launch.
+	 */
+	private static class OpenLoopGuidance implements GuidanceComputer {
+		@Override
+		public void launch(Rocket rocket) {}
+
+		@Override
+		public void controlRocket(Rocket rocket, float t) {}
+	}
+}
@@ -0,0 +1,32 @@
+package net.javadiscord.challenges.launch.batch;
+
+/**
+ * Steps every rocket in a {@link BatchSimulator}, once its inputs for the
+ * step have been gathered.
+ */
+interface BatchKernel {
+	String VECTOR_MODULE = "jdk.incubator.vector";
+
+	void step(BatchSimulator batch, double dt);
+
+	String getName();
+
+	/**
+	 * Gets the fastest kernel available. The vector kernel is loaded
+	 * reflectively, so that nothing touches the Vector API's classes unless
+	 * its module is present.
+	 * @return The kernel.
+	 */
+	static BatchKernel best() {
+		if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+			try {
+				return (BatchKernel) Class.forName(BatchKernel.class.getPackageName() + ".VectorBatchKernel")
+						.getDeclaredConstructor()
+						.newInstance();
+			} catch (ReflectiveOperationException | LinkageError e) {
+				// Fall back to the scalar kernel.
+			}
+		}
+		return new ScalarBatchKernel();
+	}
+}
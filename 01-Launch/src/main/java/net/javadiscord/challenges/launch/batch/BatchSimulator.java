@@ -0,0 +1,371 @@
+package net.javadiscord.challenges.launch.batch;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.javadiscord.challenges.launch.model.AtmosphereTable;
+import net.javadiscord.challenges.launch.model.FuelTank;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.Thruster;
+
+import java.util.SplittableRandom;
+
+/**
+ * Flies many copies of a rocket at once, with their state laid out as a
+ * structure of arrays, one primitive array per field, so that a whole batch
+ * can be stepped together with SIMD instructions. This is meant for large
+ * dispersion studies, where every rocket is flown open-loop from commands
+ * set between steps, rather than by a guidance computer.
+ * <p>
+ *     Each step follows the same force model as the {@link
+ *     net.javadiscord.challenges.launch.control.PhysicsEngine} with the
+ *     default semi-implicit Euler integrator, for rockets which have already
+ *     launched: thrust, fuel burn, gravity, air resistance and random
+ *     perturbations. Each rocket has its own random generator, split from a
+ *     single seed, and draws from it in the same order as the physics
+ *     engine, so a rocket in a batch flies the same flight as a model given
+ *     the same generator, apart from rounding. The batch works in double
+ *     precision throughout, where the model stores floats between ticks,
+ *     and totals each rocket's thrust and fuel burn by fuel type whenever
+ *     its commands change, where the engine does so every tick.
+ * </p>
+ * <p>
+ *     The batch is stepped with the Vector API if the
+ *     {@code jdk.incubator.vector} module is available, which needs the JVM
+ *     option {@code --add-modules jdk.incubator.vector}, and with a plain
+ *     scalar loop otherwise.
+ * </p>
+ */
+public class BatchSimulator {
+	// The force model's constants, shared by the kernels.
+	static final double AIR_RESISTANCE = 0.0001;
+	static final double ANGULAR_PERTURBATION = 0.005;
+	static final double LINEAR_PERTURBATION = 0.0001;
+	static final double TWO_PI = 2 * Math.PI;
+	static final double ORBITAL_SPEED = GameModel.ORBITAL_SPEED;
+	static final double EARTH_CIRCUMFERENCE = GameModel.EARTH_CIRCUMFERENCE;
+
+	/**
+	 * The number of rockets.
+	 */
+	@Getter
+	private final int size;
+
+	@Getter
+	private final int thrusterCount;
+
+	/**
+	 * The number of fuel types.
+	 */
+	@Getter
+	private final int fuelTypeCount;
+
+	@Getter(AccessLevel.NONE)
+	private final AtmosphereTable atmosphere;
+	@Getter(AccessLevel.NONE)
+	private final SplittableRandom[] randoms;
+
+	/**
+	 * Thrusters built like the template's, used to clamp and convert commands.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final Thruster[] thrusters;
+
+	/**
+	 * The kernel that steps the batch.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final BatchKernel kernel;
+
+	final double dryMass;
+
+	// Per-thruster constants, indexed by thruster.
+	@Getter(AccessLevel.NONE)
+	private final double[] maxThrust;
+	@Getter(AccessLevel.NONE)
+	private final double[] burnRate;
+	@Getter(AccessLevel.NONE)
+	private final double[] inertiaFactor;
+	@Getter(AccessLevel.NONE)
+	private final int[] fuelType;
+
+	/**
+	 * The thrusters which burn each fuel type, indexed by fuel type.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final int[][] thrustersByType;
+
+	// The state of each rocket, indexed by rocket.
+	final double[] px, py, vx, vy, theta, omega;
+
+	/**
+	 * The fuel stored, indexed by fuel type and then rocket.
+	 */
+	final double[][] fuel;
+
+	// The commands of each thruster, indexed by thruster and then rocket, and
+	// the force and torque per Newton of thrust at its gimbal.
+	@Getter(AccessLevel.NONE)
+	private final boolean[][] active;
+	@Getter(AccessLevel.NONE)
+	private final double[][] throttle, gimbal, linearFactorX, linearFactorY, torqueFactor;
+
+	// The commands totalled over the thrusters burning each fuel type,
+	// indexed by fuel type and then rocket, which is all the kernels need:
+	// the force relative to the rocket in Newtons, the angular acceleration
+	// times the mass, and the fuel burned in Kg/s. These are updated whenever
+	// a command changes, rather than summed every step.
+	final double[][] forceX, forceY, torque, burn;
+
+	// Inputs gathered for each step, indexed by rocket: the density and
+	// gravity at each rocket's altitude, and its random draws.
+	final double[] density, gravity, random0, random1, random2, random3;
+
+	/**
+	 * The simulated time since the batch started, in seconds.
+	 */
+	@Getter
+	private double time;
+
+	/**
+	 * Creates a batch of copies of a rocket, in the default atmosphere, and
+	 * stepped by the fastest kernel available.
+	 * @param template The rocket to copy the layout, state and thruster
+	 *                 settings of.
+	 * @param size The number of rockets.
+	 * @param seed The seed from which each rocket's generator is split.
+	 */
+	public BatchSimulator(Rocket template, int size, long seed) {
+		this(template, size, seed, AtmosphereTable.DEFAULT, BatchKernel.best());
+	}
+
+	BatchSimulator(Rocket template, int size, long seed, AtmosphereTable atmosphere, BatchKernel kernel) {
+		if (size < 1) throw new IllegalArgumentException("A batch needs at least one rocket.");
+		this.size = size;
+		this.atmosphere = atmosphere;
+		this.kernel = kernel;
+		this.thrusterCount = template.getThrusterCount();
+		this.fuelTypeCount = template.getTankRegistry().getTypeCount();
+
+		var root = new SplittableRandom(seed);
+		this.randoms = new SplittableRandom[size];
+		for (int i = 0; i < size; i++) {
+			randoms[i] = root.split();
+		}
+
+		this.dryMass = template.getDryMass();
+		this.thrusters = new Thruster[thrusterCount];
+		this.maxThrust = new double[thrusterCount];
+		this.burnRate = new double[thrusterCount];
+		this.inertiaFactor = new double[thrusterCount];
+		this.fuelType = new int[thrusterCount];
+		int[] typeCounts = new int[fuelTypeCount];
+		for (int t = 0; t < thrusterCount; t++) {
+			var th = template.getThruster(t);
+			thrusters[t] = new Thruster(th.getName(), th.getPosition(), th.getGeometry(), th.getOrientation(), th.getMaxThrust(),
+					th.getMinThrottle(), th.getMaxThrottle(), th.getFuelBurnRate(), th.getFuelType(), th.getSize(), th.getGimbalRange());
+			maxThrust[t] = th.getMaxThrust();
+			burnRate[t] = th.getFuelBurnRate();
+			inertiaFactor[t] = th.getGeometry().getInertiaFactor();
+			fuelType[t] = th.getFuelType().getId();
+			typeCounts[fuelType[t]]++;
+		}
+		this.thrustersByType = new int[fuelTypeCount][];
+		for (int type = 0; type < fuelTypeCount; type++) {
+			thrustersByType[type] = new int[typeCounts[type]];
+			int n = 0;
+			for (int t = 0; t < thrusterCount; t++) {
+				if (fuelType[t] == type) thrustersByType[type][n++] = t;
+			}
+		}
+
+		px = new double[size];
+		py = new double[size];
+		vx = new double[size];
+		vy = new double[size];
+		theta = new double[size];
+		omega = new double[size];
+		fuel = new double[fuelTypeCount][size];
+		active = new boolean[thrusterCount][size];
+		throttle = new double[thrusterCount][size];
+		gimbal = new double[thrusterCount][size];
+		linearFactorX = new double[thrusterCount][size];
+		linearFactorY = new double[thrusterCount][size];
+		torqueFactor = new double[thrusterCount][size];
+		forceX = new double[fuelTypeCount][size];
+		forceY = new double[fuelTypeCount][size];
+		torque = new double[fuelTypeCount][size];
+		burn = new double[fuelTypeCount][size];
+		density = new double[size];
+		gravity = new double[size];
+		random0 = new double[size];
+		random1 = new double[size];
+		random2 = new double[size];
+		random3 = new double[size];
+
+		for (int i = 0; i < size; i++) {
+			px[i] = template.getPosition().x;
+			py[i] = template.getPosition().y;
+			vx[i] = template.getVelocity().x;
+			vy[i] = template.getVelocity().y;
+			theta[i] = template.getOrientation();
+			omega[i] = template.getAngularVelocity();
+			for (int type = 0; type < fuelTypeCount; type++) {
+				FuelTank tank = template.getTankRegistry().getByType(type);
+				fuel[type][i] = tank == null ? 0 : tank.getStored();
+			}
+			for (int t = 0; t < thrusterCount; t++) {
+				var th = template.getThruster(t);
+				setActive(i, t, th.isActive());
+				setThrottle(i, t, th.getThrottle());
+				setGimbal(i, t, th.getGimbal());
+			}
+		}
+	}
+
+	/**
+	 * @return The name of the kernel stepping this batch.
+	 */
+	public String getKernelName() {
+		return kernel.getName();
+	}
+
+	public void setActive(int rocket, int thruster, boolean active) {
+		this.active[thruster][rocket] = active;
+		updateTotals(rocket, fuelType[thruster]);
+	}
+
+	/**
+	 * @param rocket The index of the rocket.
+	 * @param thruster The index of the thruster.
+	 * @param throttle The throttle, bounded within the thruster's range.
+	 */
+	public void setThrottle(int rocket, int thruster, float throttle) {
+		var th = thrusters[thruster];
+		th.setThrottle(throttle);
+		this.throttle[thruster][rocket] = th.getThrottle();
+		updateTotals(rocket, fuelType[thruster]);
+	}
+
+	/**
+	 * @param rocket The index of the rocket.
+	 * @param thruster The index of the thruster.
+	 * @param gimbal The gimbal, in degrees, bounded within the thruster's
+	 *               range.
+	 */
+	public void setGimbal(int rocket, int thruster, float gimbal) {
+		var th = thrusters[thruster];
+		th.setGimbal(gimbal);
+		this.gimbal[thruster][rocket] = th.getGimbal();
+		linearFactorX[thruster][rocket] = th.getLinearFactorX();
+		linearFactorY[thruster][rocket] = th.getLinearFactorY();
+		torqueFactor[thruster][rocket] = th.getTorqueFactor();
+		updateTotals(rocket, fuelType[thruster]);
+	}
+
+	/**
+	 * Totals the commands of a rocket's thrusters which burn a fuel type.
+	 */
+	private void updateTotals(int rocket, int type) {
+		double fx = 0, fy = 0, alpha = 0, fuelBurned = 0;
+		for (int t : thrustersByType[type]) {
+			if (!active[t][rocket]) continue;
+			double thrust = throttle[t][rocket] * maxThrust[t];
+			fx += thrust * linearFactorX[t][rocket];
+			fy += thrust * linearFactorY[t][rocket];
+			alpha += thrust * torqueFactor[t][rocket] / inertiaFactor[t];
+			fuelBurned += throttle[t][rocket] * burnRate[t];
+		}
+		forceX[type][rocket] = fx;
+		forceY[type][rocket] = fy;
+		torque[type][rocket] = alpha;
+		burn[type][rocket] = fuelBurned;
+	}
+
+	public boolean isActive(int rocket, int thruster) {
+		return active[thruster][rocket];
+	}
+
+	public float getThrottle(int rocket, int thruster) {
+		return (float) throttle[thruster][rocket];
+	}
+
+	/**
+	 * @param rocket The index of the rocket.
+	 * @param thruster The index of the thruster.
+	 * @return The thruster's gimbal, in degrees.
+	 */
+	public float getGimbal(int rocket, int thruster) {
+		return (float) gimbal[thruster][rocket];
+	}
+
+	/**
+	 * Advances every rocket by the given amount of time. The inputs which
+	 * can't be vectorized, the atmosphere lookups and random draws, are
+	 * gathered for all rockets first, and then the kernel steps them.
+	 * @param dt The amount of time to advance by, in seconds.
+	 */
+	public void step(double dt) {
+		for (int i = 0; i < size; i++) {
+			float altitude = (float) py[i];
+			density[i] = atmosphere.getDensity(altitude);
+			gravity[i] = atmosphere.getGravity(altitude);
+			var random = randoms[i];
+			random0[i] = random.nextDouble();
+			random1[i] = random.nextDouble();
+			random2[i] = random.nextDouble();
+			random3[i] = random.nextDouble();
+		}
+		kernel.step(this, dt);
+		time += dt;
+	}
+
+	public double getPositionX(int rocket) {
+		return px[rocket];
+	}
+
+	public double getPositionY(int rocket) {
+		return py[rocket];
+	}
+
+	public double getVelocityX(int rocket) {
+		return vx[rocket];
+	}
+
+	public double getVelocityY(int rocket) {
+		return vy[rocket];
+	}
+
+	/**
+	 * @param rocket The index of the rocket.
+	 * @return Its orientation, in radians.
+	 */
+	public double getOrientation(int rocket) {
+		return theta[rocket];
+	}
+
+	public double getAngularVelocity(int rocket) {
+		return omega[rocket];
+	}
+
+	/**
+	 * @param rocket The index of the rocket.
+	 * @return Its total mass, including fuel, in Kg.
+	 */
+	public double getMass(int rocket) {
+		double mass = dryMass;
+		for (int type = 0; type < fuelTypeCount; type++) {
+			mass += fuel[type][rocket];
+		}
+		return mass;
+	}
+
+	/**
+	 * @param rocket The index of the rocket.
+	 * @param fuelType The id of the fuel type.
+	 * @return The fuel of that type left, in Kg.
+	 */
+	public double getFuel(int rocket, int fuelType) {
+		return fuel[fuelType][rocket];
+	}
+}
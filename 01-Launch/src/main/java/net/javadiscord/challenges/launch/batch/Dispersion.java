@@ -0,0 +1,61 @@
+package net.javadiscord.challenges.launch.batch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Summary statistics describing how a single metric is dispersed over many
+ * flights.
+ */
+public record Dispersion(
+		int count,
+		double mean,
+		double standardDeviation,
+		double min,
+		double p5,
+		double median,
+		double p95,
+		double max
+) {
+	public static <T> Dispersion of(List<T> items, ToDoubleFunction<T> metric) {
+		double[] values = new double[items.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = metric.applyAsDouble(items.get(i));
+		}
+		return of(values);
+	}
+
+	public static Dispersion of(double[] values) {
+		if (values.length == 0) {
+			return new Dispersion(0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+		}
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		double sum = 0;
+		for (double v : sorted) sum += v;
+		double mean = sum / sorted.length;
+		double squares = 0;
+		for (double v : sorted) squares += (v - mean) * (v - mean);
+		return new Dispersion(
+				sorted.length,
+				mean,
+				Math.sqrt(squares / sorted.length),
+				sorted[0],
+				percentile(sorted, 0.05),
+				percentile(sorted, 0.5),
+				percentile(sorted, 0.95),
+				sorted[sorted.length - 1]
+		);
+	}
+
+	private static double percentile(double[] sorted, double p) {
+		return sorted[(int) Math.round(p * (sorted.length - 1))];
+	}
+
+	@Override
+	public String toString() {
+		return String.format("mean = %.3f, sd = %.3f, min = %.3f, p5 = %.3f, p50 = %.3f, p95 = %.3f, max = %.3f",
+				mean, standardDeviation, min, p5, median, p95, max);
+	}
+}
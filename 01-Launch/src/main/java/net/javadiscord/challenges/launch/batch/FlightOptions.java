@@ -0,0 +1,97 @@
+package net.javadiscord.challenges.launch.batch;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.control.Simulation;
+import net.javadiscord.challenges.launch.integrator.Integrator;
+import net.javadiscord.challenges.launch.integrator.SemiImplicitEuler;
+import net.javadiscord.challenges.launch.model.AtmosphereTable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * The settings shared by every flight of a batch: how long each flight
+ * lasts, how its physics are stepped, the atmosphere it's flown in, and the
+ * fork-join pool the flights are spread over. One set of options can be
+ * shared by several batches, as long as it isn't changed while they fly.
+ */
+@Getter
+public class FlightOptions {
+	private float flightDuration = 600.0f;
+	private double timeStep = Simulation.DEFAULT_TIME_STEP;
+	private Supplier<? extends Integrator> integratorFactory = SemiImplicitEuler::new;
+	private AtmosphereTable atmosphere = AtmosphereTable.DEFAULT;
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	/**
+	 * @param flightDuration The number of seconds after liftoff to fly each
+	 *                       flight for.
+	 * @return These options.
+	 */
+	public FlightOptions flightDuration(float flightDuration) {
+		this.flightDuration = flightDuration;
+		return this;
+	}
+
+	public FlightOptions timeStep(double timeStep) {
+		this.timeStep = timeStep;
+		return this;
+	}
+
+	/**
+	 * @param integratorFactory A factory which produces a new integrator for
+	 *                          each flight.
+	 * @return These options.
+	 */
+	public FlightOptions integrator(Supplier<? extends Integrator> integratorFactory) {
+		this.integratorFactory = integratorFactory;
+		return this;
+	}
+
+	/**
+	 * @param atmosphere The atmosphere to fly every flight in. Tables are
+	 *                   immutable, so one is shared by all flights.
+	 * @return These options.
+	 */
+	public FlightOptions atmosphere(AtmosphereTable atmosphere) {
+		this.atmosphere = atmosphere;
+		return this;
+	}
+
+	public FlightOptions pool(ForkJoinPool pool) {
+		this.pool = pool;
+		return this;
+	}
+
+	/**
+	 * Flies each of several entrants, such as guidance computers or sets of
+	 * parameters for one, on every one of the same seeds. The flights are
+	 * spread over the pool with one task each, so that all cores stay busy
+	 * however few entrants there are.
+	 * @param entrants The number of entrants.
+	 * @param seeds The seeds which every entrant flies.
+	 * @param flight Flies one entrant on one seed.
+	 * @return The results, grouped by entrant, in the order of the seeds.
+	 */
+	public FlightResult[] flyAll(int entrants, long[] seeds, Flight flight) {
+		return pool.submit(() -> IntStream.range(0, entrants * seeds.length).parallel()
+				.mapToObj(task -> flight.fly(task / seeds.length, task % seeds.length, seeds[task % seeds.length]))
+				.toArray(FlightResult[]::new)
+		).join();
+	}
+
+	/**
+	 * Flies one entrant on one seed.
+	 */
+	@FunctionalInterface
+	public interface Flight {
+		/**
+		 * @param entrant The index of the entrant.
+		 * @param run The index of the seed.
+		 * @param seed The seed.
+		 * @return The result of the flight.
+		 */
+		FlightResult fly(int entrant, int run, long seed);
+	}
+}
@@ -0,0 +1,26 @@
+package net.javadiscord.challenges.launch.batch;
+
+/**
+ * The outcome of a single headless flight.
+ * @param run The index of the run within its batch.
+ * @param apogee The highest altitude reached, in meters.
+ * @param initialFuel The total fuel at the start of the flight, in Kg.
+ * @param fuelRemaining The total fuel left at the end of the flight, in Kg.
+ * @param maxPitchError The largest deviation from the target pitch during the
+ *                      flight, in degrees.
+ * @param finalAltitude The altitude at the end of the flight, in meters.
+ * @param finalHorizontalSpeed The absolute longitudinal velocity at the end of
+ *                             the flight, in m/s.
+ * @param finalVerticalSpeed The vertical velocity at the end of the flight,
+ *                           in m/s.
+ */
+public record FlightResult(
+		int run,
+		float apogee,
+		float initialFuel,
+		float fuelRemaining,
+		float maxPitchError,
+		float finalAltitude,
+		float finalHorizontalSpeed,
+		float finalVerticalSpeed
+) {}
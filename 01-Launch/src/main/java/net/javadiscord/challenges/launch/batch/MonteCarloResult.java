@@ -0,0 +1,36 @@
+package net.javadiscord.challenges.launch.batch;
+
+import java.util.List;
+
+/**
+ * The results of a batch of Monte Carlo runs.
+ * @param flights The result of each run, in the order of their run index.
+ * @param elapsedSeconds The wall-clock time the batch took, in seconds.
+ */
+public record MonteCarloResult(List<FlightResult> flights, double elapsedSeconds) {
+	public Dispersion apogee() {
+		return Dispersion.of(flights, FlightResult::apogee);
+	}
+
+	public Dispersion fuelRemaining() {
+		return Dispersion.of(flights, FlightResult::fuelRemaining);
+	}
+
+	public Dispersion maxPitchError() {
+		return Dispersion.of(flights, FlightResult::maxPitchError);
+	}
+
+	public double runsPerSecond() {
+		return flights.size() / elapsedSeconds;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("""
+				%d runs in %.3f s (%.1f runs/s)
+				Apogee (m):            %s
+				Fuel remaining (Kg):   %s
+				Max pitch error (deg): %s""",
+				flights.size(), elapsedSeconds, runsPerSecond(), apogee(), fuelRemaining(), maxPitchError());
+	}
+}
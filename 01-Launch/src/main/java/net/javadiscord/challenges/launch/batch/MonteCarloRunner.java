@@ -0,0 +1,168 @@
+package net.javadiscord.challenges.launch.batch;
+
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.control.Simulation;
+import net.javadiscord.challenges.launch.model.GameModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Flies many independent headless launches in parallel, in order to measure
+ * how robust a guidance computer is against turbulence and air resistance.
+ * <p>
+ *     Every run gets its own {@link GameModel}, guidance computer and random
+ *     generator, split from a single root seed, so the runs share no mutable
+ *     state and a batch can be reproduced exactly from its seed regardless of
+ *     how many cores it runs on.
+ * </p>
+ */
+public class MonteCarloRunner {
+	private final Supplier<? extends GuidanceComputer> guidanceFactory;
+	private FlightOptions options = new FlightOptions();
+	private PitchProgram pitchProgram = t -> 90.0f;
+	private VehicleStore store;
+
+	/**
+	 * Creates a runner.
+	 * @param guidanceFactory A factory which produces a new guidance computer
+	 *                        for each run.
+	 */
+	public MonteCarloRunner(Supplier<? extends GuidanceComputer> guidanceFactory) {
+		this.guidanceFactory = guidanceFactory;
+	}
+
+	/**
+	 * @param options The duration, physics, atmosphere and pool of the runs.
+	 * @return This runner.
+	 */
+	public MonteCarloRunner options(FlightOptions options) {
+		this.options = options;
+		return this;
+	}
+
+	/**
+	 * @param pitchProgram The pitch that the guidance computer is supposed to
+	 *                     hold over time, used to compute each run's pitch
+	 *                     error. By default, this is vertical.
+	 * @return This runner.
+	 */
+	public MonteCarloRunner pitchProgram(PitchProgram pitchProgram) {
+		this.pitchProgram = pitchProgram;
+		return this;
+	}
+
+	/**
+	 * @param store A store to write the final state of each run to, at the
+	 *              run's index, or null to keep only the results. It must
+	 *              have room for every run.
+	 * @return This runner.
+	 */
+	public MonteCarloRunner store(VehicleStore store) {
+		this.store = store;
+		return this;
+	}
+
+	/**
+	 * Flies a batch of runs, spread over the options' pool.
+	 * @param seed The root seed, from which each run's generator is split.
+	 * @param runs The number of runs to fly.
+	 * @return The results of the batch.
+	 */
+	public MonteCarloResult run(long seed, int runs) {
+		var root = new SplittableRandom(seed);
+		var generators = new SplittableRandom[runs];
+		for (int i = 0; i < runs; i++) {
+			generators[i] = root.split();
+		}
+		long start = System.nanoTime();
+		List<FlightResult> results = options.getPool().submit(() -> IntStream.range(0, runs).parallel()
+				.mapToObj(i -> fly(i, generators[i]))
+				.toList()
+		).join();
+		double elapsed = (System.nanoTime() - start) / 1_000_000_000.0;
+		return new MonteCarloResult(results, elapsed);
+	}
+
+	/**
+	 * Flies a single run. If the run's guidance computer is {@link Closeable},
+	 * such as a remote one, it's closed once the run is over.
+	 * @param run The index of the run.
+	 * @param random The run's own random generator.
+	 * @return The result of the run.
+	 */
+	public FlightResult fly(int run, SplittableRandom random) {
+		var guidance = guidanceFactory.get();
+		try {
+			return fly(run, random, guidance);
+		} finally {
+			if (guidance instanceof Closeable closeable) {
+				try {
+					closeable.close();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+
+	private FlightResult fly(int run, SplittableRandom random, GuidanceComputer guidance) {
+		var model = new GameModel(guidance, random, options.getAtmosphere());
+		var rocket = model.getRocket();
+		var simulation = new Simulation(model, options.getTimeStep());
+		simulation.getPhysics().setIntegrator(options.getIntegratorFactory().get());
+		float initialFuel = rocket.getMass() - rocket.getDryMass();
+		simulation.startLaunch();
+		float apogee = 0;
+		float maxPitchError = 0;
+		while (model.getTimeSinceLaunch() < options.getFlightDuration() && !model.isAborted()) {
+			simulation.step();
+			float t = model.getTimeSinceLaunch();
+			if (t > 0) {
+				apogee = Math.max(apogee, rocket.getAltitude());
+				float error = Math.abs(angleDifference(rocket.getOrientationDegrees(), pitchProgram.getTargetPitch(t)));
+				maxPitchError = Math.max(maxPitchError, error);
+			}
+		}
+		if (store != null) {
+			store.store(run, model);
+		}
+		return new FlightResult(
+				run,
+				apogee,
+				initialFuel,
+				rocket.getMass() - rocket.getDryMass(),
+				maxPitchError,
+				rocket.getAltitude(),
+				Math.abs(rocket.getVelocity().x),
+				rocket.getVelocity().y
+		);
+	}
+
+	/**
+	 * Gets the signed difference between two angles, in the range [-180, 180).
+	 */
+	private static float angleDifference(float a, float b) {
+		float d = (a - b) % 360.0f;
+		if (d >= 180.0f) d -= 360.0f;
+		if (d < -180.0f) d += 360.0f;
+		return d;
+	}
+
+	/**
+	 * Describes the pitch that a rocket should have at a given time.
+	 */
+	@FunctionalInterface
+	public interface PitchProgram {
+		/**
+		 * @param t The time since launch, in seconds.
+		 * @return The target pitch, in degrees.
+		 */
+		float getTargetPitch(float t);
+	}
+}
@@ -0,0 +1,96 @@
+package net.javadiscord.challenges.launch.batch;
+
+import static net.javadiscord.challenges.launch.batch.BatchSimulator.*;
+
+/**
+ * Steps a batch one rocket at a time, with plain scalar arithmetic. This is
+ * used when the Vector API isn't available, and defines the results that the
+ * vector kernel must match.
+ */
+class ScalarBatchKernel implements BatchKernel {
+	@Override
+	public void step(BatchSimulator b, double dt) {
+		step(b, dt, 0, b.getSize());
+	}
+
+	/**
+	 * Steps a range of rockets.
+	 * @param b The batch.
+	 * @param dt The amount of time to advance by, in seconds.
+	 * @param from The first rocket, inclusive.
+	 * @param to The last rocket, exclusive.
+	 */
+	static void step(BatchSimulator b, double dt, int from, int to) {
+		for (int i = from; i < to; i++) {
+			// Thrust and fuel burn, with the mass at the start of the tick.
+			double mass = b.dryMass;
+			for (int type = 0; type < b.fuel.length; type++) {
+				mass += b.fuel[type][i];
+			}
+			double fx = 0;
+			double fy = 0;
+			double alpha = 0;
+			double massAfter = b.dryMass;
+			for (int type = 0; type < b.fuel.length; type++) {
+				double stored = b.fuel[type][i];
+				if (stored > 0) {
+					fx += b.forceX[type][i];
+					fy += b.forceY[type][i];
+					alpha += b.torque[type][i];
+					stored = Math.max(0, stored - b.burn[type][i] * dt);
+					b.fuel[type][i] = stored;
+				}
+				massAfter += stored;
+			}
+			alpha /= mass;
+
+			// Kick, rotating the thrust from the rocket's frame to the world's.
+			double sin = Math.sin(b.theta[i]);
+			double cos = Math.cos(b.theta[i]);
+			double ax = (fx * sin + fy * cos) / massAfter;
+			double ay = (fy * sin - fx * cos) / massAfter;
+			if (b.py[i] > 0) {
+				ay -= Math.max(0, b.gravity[i] * (1 - Math.abs(b.vx[i]) / ORBITAL_SPEED));
+			}
+			double vx = b.vx[i] + ax * dt;
+			double vy = b.vy[i] + ay * dt;
+			double omega = b.omega[i] + alpha * dt;
+
+			// Air resistance and random perturbations.
+			double density = b.density[i];
+			double airResistance = 1 - b.random0[i] * AIR_RESISTANCE * density;
+			vx *= airResistance;
+			vy *= airResistance;
+			omega *= airResistance;
+			double angularPerturbation = ANGULAR_PERTURBATION * (2 * b.random1[i] - 1) * density;
+			double linearPerturbation = b.random2[i] * LINEAR_PERTURBATION * density;
+			double direction = b.random3[i] * TWO_PI;
+			vx += linearPerturbation * Math.cos(direction);
+			vy += linearPerturbation * Math.sin(direction);
+			omega += angularPerturbation;
+
+			// Drift, then wrap around the Earth and stop at the ground.
+			double px = b.px[i] + vx * dt;
+			double py = b.py[i] + vy * dt;
+			double theta = b.theta[i] + omega * dt;
+			if (theta < 0) theta += TWO_PI;
+			if (theta >= TWO_PI) theta -= TWO_PI;
+			if (px > EARTH_CIRCUMFERENCE) px -= EARTH_CIRCUMFERENCE;
+			if (py < 0) {
+				py = 0;
+				vy = 0;
+			}
+			b.px[i] = px;
+			b.py[i] = py;
+			b.vx[i] = vx;
+			b.vy[i] = vy;
+			b.theta[i] = theta;
+			b.omega[i] = omega;
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "scalar";
+	}
+}
@@ -0,0 +1,174 @@
+package net.javadiscord.challenges.launch.batch;
+
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.model.GameModel;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Flies many guidance computers against each other, and ranks them by how
+ * well they do on the mission. Every entrant flies the same set of seeds, so
+ * they all face exactly the same turbulence, and all flights of all entrants
+ * are spread over one fork-join pool.
+ * <p>
+ *     Entrants are discovered with a {@link ServiceLoader}, so any
+ *     implementation listed in a
+ *     {@code META-INF/services/net.javadiscord.challenges.launch.GuidanceComputer}
+ *     file, either on the classpath or in a jar in the entrants directory,
+ *     takes part.
+ * </p>
+ */
+public class Tournament {
+	private final List<Entrant> entrants;
+	private FlightOptions options = new FlightOptions();
+
+	public Tournament(List<Entrant> entrants) {
+		this.entrants = List.copyOf(entrants);
+	}
+
+	/**
+	 * Discovers all guidance computers on the classpath, and in any jars in
+	 * the given directory.
+	 * @param jarDirectory A directory of jars containing more guidance
+	 *                     computers, or null.
+	 * @return The tournament.
+	 * @throws IOException If the directory can't be read.
+	 */
+	public static Tournament discover(Path jarDirectory) throws IOException {
+		ClassLoader loader = Tournament.class.getClassLoader();
+		if (jarDirectory != null) {
+			List<URL> jars = new ArrayList<>();
+			try (Stream<Path> files = Files.list(jarDirectory)) {
+				for (var file : files.filter(f -> f.toString().endsWith(".jar")).sorted().toList()) {
+					jars.add(file.toUri().toURL());
+				}
+			}
+			loader = new URLClassLoader(jars.toArray(new URL[0]), loader);
+		}
+		List<Entrant> entrants = ServiceLoader.load(GuidanceComputer.class, loader).stream()
+				.map(provider -> new Entrant(provider.type().getName(), provider::get))
+				.toList();
+		return new Tournament(entrants);
+	}
+
+	/**
+	 * @param options The duration, physics, atmosphere and pool of every
+	 *                flight.
+	 * @return This tournament.
+	 */
+	public Tournament options(FlightOptions options) {
+		this.options = options;
+		return this;
+	}
+
+	public List<Entrant> getEntrants() {
+		return entrants;
+	}
+
+	/**
+	 * Flies every entrant over the given number of seeds, and ranks them.
+	 * @param seed The seed from which the shared seeds are generated.
+	 * @param flightsPerEntrant The number of seeds each entrant flies.
+	 * @return The leaderboard, best first.
+	 */
+	public List<Standing> run(long seed, int flightsPerEntrant) {
+		var random = new SplittableRandom(seed);
+		long[] seeds = new long[flightsPerEntrant];
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = random.nextLong();
+		}
+		List<MonteCarloRunner> runners = entrants.stream()
+				.map(e -> new MonteCarloRunner(e.factory()).options(options))
+				.toList();
+		List<FlightResult> results = List.of(options.flyAll(entrants.size(), seeds,
+				(entrant, run, s) -> runners.get(entrant).fly(run, new SplittableRandom(s))));
+
+		List<Standing> standings = new ArrayList<>();
+		for (int e = 0; e < entrants.size(); e++) {
+			var flights = results.subList(e * seeds.length, (e + 1) * seeds.length);
+			standings.add(Standing.of(entrants.get(e).name(), flights));
+		}
+		standings.sort(Comparator.comparingDouble(Standing::score).reversed());
+		return standings;
+	}
+
+	/**
+	 * Formats a leaderboard as a table.
+	 * @param standings The standings, best first.
+	 * @return The table.
+	 */
+	public static String formatLeaderboard(List<Standing> standings) {
+		var sb = new StringBuilder(String.format("%4s  %-56s %7s %10s %7s %10s %7s%n", "Rank", "Guidance", "Score", "Apogee", "Speed", "Fuel", "Orbit"));
+		for (int i = 0; i < standings.size(); i++) {
+			var s = standings.get(i);
+			sb.append(String.format("%4d  %-56s %7.3f %8.1f Km %6.1f%% %7.0f Kg %6.1f%%%n",
+					i + 1, s.name(), s.score(), s.apogee() / 1000.0, s.orbitalSpeedFraction() * 100, s.fuelRemaining(), s.orbitRate() * 100));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * A guidance computer taking part in the tournament.
+	 * @param name The name of the entrant.
+	 * @param factory A factory for new instances of its guidance computer.
+	 */
+	public record Entrant(String name, Supplier<? extends GuidanceComputer> factory) {}
+
+	/**
+	 * An entrant's results over all of its flights. All values are averages.
+	 * @param name The name of the entrant.
+	 * @param score The mission score, as defined by {@link #scoreOf(FlightResult)}.
+	 * @param apogee The highest altitude reached, in meters.
+	 * @param orbitalSpeedFraction The final horizontal speed, as a fraction of
+	 *                             {@link GameModel#ORBITAL_SPEED}.
+	 * @param fuelRemaining The fuel left at the end, in Kg.
+	 * @param orbitRate The fraction of flights which ended in orbit.
+	 */
+	public record Standing(String name, double score, double apogee, double orbitalSpeedFraction, double fuelRemaining, double orbitRate) {
+		static Standing of(String name, List<FlightResult> flights) {
+			return new Standing(
+					name,
+					Dispersion.of(flights, Standing::scoreOf).mean(),
+					Dispersion.of(flights, FlightResult::apogee).mean(),
+					Dispersion.of(flights, Standing::orbitalSpeedFraction).mean(),
+					Dispersion.of(flights, FlightResult::fuelRemaining).mean(),
+					Dispersion.of(flights, f -> isInOrbit(f) ? 1 : 0).mean()
+			);
+		}
+
+		private static double orbitalSpeedFraction(FlightResult flight) {
+			return Math.min(1.0, flight.finalHorizontalSpeed() / GameModel.ORBITAL_SPEED);
+		}
+
+		/**
+		 * Checks whether a flight ended in orbit: above the Karman line, at
+		 * orbital speed.
+		 */
+		public static boolean isInOrbit(FlightResult flight) {
+			return flight.finalAltitude() >= GameModel.KARMAN_LINE && flight.finalHorizontalSpeed() >= GameModel.ORBITAL_SPEED;
+		}
+
+		/**
+		 * Scores a single flight. Up to one point is given for altitude
+		 * reached, relative to the Karman line, and up to one point for
+		 * horizontal speed, relative to orbital speed. Flights that end in
+		 * orbit get up to one more point for the fraction of their fuel left.
+		 * @param flight The flight.
+		 * @return The score, between 0 and 3.
+		 */
+		public static double scoreOf(FlightResult flight) {
+			double score = Math.min(1.0, flight.apogee() / GameModel.KARMAN_LINE) + orbitalSpeedFraction(flight);
+			if (isInOrbit(flight)) {
+				score += flight.fuelRemaining() / flight.initialFuel();
+			}
+			return score;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package net.javadiscord.challenges.launch.batch;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static net.javadiscord.challenges.launch.batch.BatchSimulator.*;
+
+/**
+ * Steps a batch with the Vector API, a full vector of rockets at a time,
+ * following exactly the same steps as the {@link ScalarBatchKernel}, which
+ * also steps any rockets left over at the end. Conditions become masks, and
+ * everything else is lane-wise arithmetic, so there are no branches in the
+ * loop. This class must only be loaded if the {@code jdk.incubator.vector}
+ * module is present.
+ */
+class VectorBatchKernel implements BatchKernel {
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	@Override
+	public void step(BatchSimulator b, double dt) {
+		int n = b.getSize();
+		int upper = SPECIES.loopBound(n);
+		var zero = DoubleVector.zero(SPECIES);
+		for (int i = 0; i < upper; i += SPECIES.length()) {
+			// Thrust and fuel burn, with the mass at the start of the tick.
+			var mass = DoubleVector.broadcast(SPECIES, b.dryMass);
+			for (int type = 0; type < b.fuel.length; type++) {
+				mass = mass.add(DoubleVector.fromArray(SPECIES, b.fuel[type], i));
+			}
+			var fx = zero;
+			var fy = zero;
+			var alpha = zero;
+			var massAfter = DoubleVector.broadcast(SPECIES, b.dryMass);
+			for (int type = 0; type < b.fuel.length; type++) {
+				var stored = DoubleVector.fromArray(SPECIES, b.fuel[type], i);
+				VectorMask<Double> hasFuel = stored.compare(VectorOperators.GT, 0);
+				fx = fx.add(DoubleVector.fromArray(SPECIES, b.forceX[type], i), hasFuel);
+				fy = fy.add(DoubleVector.fromArray(SPECIES, b.forceY[type], i), hasFuel);
+				alpha = alpha.add(DoubleVector.fromArray(SPECIES, b.torque[type], i), hasFuel);
+				var burned = DoubleVector.fromArray(SPECIES, b.burn[type], i).mul(dt);
+				stored = stored.sub(burned).max(0).blend(stored, hasFuel.not());
+				stored.intoArray(b.fuel[type], i);
+				massAfter = massAfter.add(stored);
+			}
+			alpha = alpha.div(mass);
+
+			// Kick, rotating the thrust from the rocket's frame to the world's.
+			var theta = DoubleVector.fromArray(SPECIES, b.theta, i);
+			var sin = theta.lanewise(VectorOperators.SIN);
+			var cos = theta.lanewise(VectorOperators.COS);
+			var ax = fx.mul(sin).add(fy.mul(cos)).div(massAfter);
+			var ay = fy.mul(sin).sub(fx.mul(cos)).div(massAfter);
+			var px = DoubleVector.fromArray(SPECIES, b.px, i);
+			var py = DoubleVector.fromArray(SPECIES, b.py, i);
+			var vx = DoubleVector.fromArray(SPECIES, b.vx, i);
+			var vy = DoubleVector.fromArray(SPECIES, b.vy, i);
+			var omega = DoubleVector.fromArray(SPECIES, b.omega, i);
+			var gravity = DoubleVector.fromArray(SPECIES, b.gravity, i)
+					.mul(vx.abs().div(-ORBITAL_SPEED).add(1))
+					.max(0);
+			ay = ay.sub(gravity, py.compare(VectorOperators.GT, 0));
+			vx = ax.mul(dt).add(vx);
+			vy = ay.mul(dt).add(vy);
+			omega = alpha.mul(dt).add(omega);
+
+			// Air resistance and random perturbations.
+			var density = DoubleVector.fromArray(SPECIES, b.density, i);
+			var airResistance = DoubleVector.broadcast(SPECIES, 1).sub(DoubleVector.fromArray(SPECIES, b.random0, i).mul(AIR_RESISTANCE).mul(density));
+			vx = vx.mul(airResistance);
+			vy = vy.mul(airResistance);
+			omega = omega.mul(airResistance);
+			var angularPerturbation = DoubleVector.fromArray(SPECIES, b.random1, i).mul(2).sub(1).mul(ANGULAR_PERTURBATION).mul(density);
+			var linearPerturbation = DoubleVector.fromArray(SPECIES, b.random2, i).mul(LINEAR_PERTURBATION).mul(density);
+			var direction = DoubleVector.fromArray(SPECIES, b.random3, i).mul(TWO_PI);
+			vx = linearPerturbation.mul(direction.lanewise(VectorOperators.COS)).add(vx);
+			vy = linearPerturbation.mul(direction.lanewise(VectorOperators.SIN)).add(vy);
+			omega = omega.add(angularPerturbation);
+
+			// Drift, then wrap around the Earth and stop at the ground.
+			px = vx.mul(dt).add(px);
+			py = vy.mul(dt).add(py);
+			theta = omega.mul(dt).add(theta);
+			theta = theta.add(TWO_PI, theta.compare(VectorOperators.LT, 0));
+			theta = theta.sub(TWO_PI, theta.compare(VectorOperators.GE, TWO_PI));
+			px = px.sub(EARTH_CIRCUMFERENCE, px.compare(VectorOperators.GT, EARTH_CIRCUMFERENCE));
+			VectorMask<Double> belowGround = py.compare(VectorOperators.LT, 0);
+			py = py.blend(0, belowGround);
+			vy = vy.blend(0, belowGround);
+
+			px.intoArray(b.px, i);
+			py.intoArray(b.py, i);
+			vx.intoArray(b.vx, i);
+			vy.intoArray(b.vy, i);
+			theta.intoArray(b.theta, i);
+			omega.intoArray(b.omega, i);
+		}
+		ScalarBatchKernel.step(b, dt, upper, n);
+	}
+
+	@Override
+	public String getName() {
+		return "vector (" + SPECIES.length() + " lanes)";
+	}
+}
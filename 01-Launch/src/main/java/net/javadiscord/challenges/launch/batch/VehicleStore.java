@@ -0,0 +1,263 @@
+package net.javadiscord.challenges.launch.batch;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.javadiscord.challenges.launch.model.FuelType;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.Vec2;
+import net.javadiscord.challenges.launch.telemetry.TelemetryFormat;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Stores the state of a very large number of vehicles off the heap, as one
+ * fixed-width {@link TelemetryFormat} record per vehicle, so that the state
+ * of millions of runs costs a few hundred bytes each, and nothing for the
+ * garbage collector to trace.
+ * <p>
+ *     Records are kept in direct byte buffers of up to {@link #CHUNK_SIZE}
+ *     bytes each, so a store isn't limited to the 2 GB of a single buffer,
+ *     only by the JVM's direct memory limit, which can be raised with
+ *     {@code -XX:MaxDirectMemorySize}. A vehicle's state is copied in and out
+ *     of a reusable {@link GameModel} with {@link #store(int, GameModel)} and
+ *     {@link #load(int, GameModel)}, and can be read in place through a
+ *     {@link Vehicle}. Different vehicles may be written by different threads
+ *     at once, since every access is an absolute get or put.
+ * </p>
+ */
+@Getter
+public class VehicleStore {
+	/**
+	 * The largest size of a single buffer, in bytes.
+	 */
+	public static final int CHUNK_SIZE = 1 << 30;
+
+	private final TelemetryFormat format;
+
+	/**
+	 * The number of vehicles.
+	 */
+	private final int capacity;
+
+	/**
+	 * The mass of a vehicle without fuel, in Kg.
+	 */
+	private final float dryMass;
+
+	@Getter(AccessLevel.NONE)
+	private final int recordsPerChunk;
+	@Getter(AccessLevel.NONE)
+	private final ByteBuffer[] chunks;
+
+	/**
+	 * The index of the tank holding each fuel type, indexed by fuel type, or
+	 * -1 for the types which no tank holds.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final int[] tankByType;
+
+	/**
+	 * Allocates a store. Every record starts out zeroed, rather than with the
+	 * template's state.
+	 * @param template A rocket with the same layout of thrusters and tanks as
+	 *                 the vehicles to store.
+	 * @param capacity The number of vehicles to store.
+	 */
+	public VehicleStore(Rocket template, int capacity) {
+		if (capacity < 1) throw new IllegalArgumentException("A store needs room for at least one vehicle.");
+		this.format = TelemetryFormat.forRocket(template);
+		this.capacity = capacity;
+		this.dryMass = template.getDryMass();
+		this.recordsPerChunk = Math.min(capacity, CHUNK_SIZE / format.getRecordSize());
+		this.chunks = new ByteBuffer[(capacity + recordsPerChunk - 1) / recordsPerChunk];
+		for (int i = 0; i < chunks.length; i++) {
+			int records = Math.min(recordsPerChunk, capacity - i * recordsPerChunk);
+			chunks[i] = ByteBuffer.allocateDirect(records * format.getRecordSize()).order(TelemetryFormat.BYTE_ORDER);
+		}
+		this.tankByType = new int[template.getTankRegistry().getTypeCount()];
+		Arrays.fill(tankByType, -1);
+		for (int i = 0; i < template.getFuelTankCount(); i++) {
+			tankByType[template.getFuelTank(i).getType().getId()] = i;
+		}
+	}
+
+	/**
+	 * @return The total size of the records, in bytes.
+	 */
+	public long getSizeInBytes() {
+		return (long) capacity * format.getRecordSize();
+	}
+
+	/**
+	 * Writes a model's current state as a vehicle's.
+	 * @param index The index of the vehicle.
+	 * @param model The model to copy the state of.
+	 */
+	public void store(int index, GameModel model) {
+		format.write(chunkOf(index), offsetOf(index), model);
+	}
+
+	/**
+	 * Applies a vehicle's state to a model, so that it can be flown further,
+	 * or shown to a guidance computer.
+	 * @param index The index of the vehicle.
+	 * @param model The model to apply the state to, whose rocket must have
+	 *              the same layout as this store's.
+	 */
+	public void load(int index, GameModel model) {
+		format.read(chunkOf(index), offsetOf(index), model);
+	}
+
+	/**
+	 * Creates a new flyweight for reading vehicles in place. A flyweight
+	 * mustn't be shared between threads.
+	 * @return A flyweight positioned at the first vehicle.
+	 */
+	public Vehicle vehicle() {
+		return new Vehicle();
+	}
+
+	private ByteBuffer chunkOf(int index) {
+		if (index < 0 || index >= capacity) throw new IndexOutOfBoundsException(index);
+		return chunks[index / recordsPerChunk];
+	}
+
+	private int offsetOf(int index) {
+		return (index % recordsPerChunk) * format.getRecordSize();
+	}
+
+	/**
+	 * A view of one stored vehicle at a time, with the same accessors as a
+	 * {@link Rocket} for everything a guidance computer reads, and the state
+	 * of the model around it. The getters read straight from the store, so
+	 * they always see its current contents, and nothing is allocated once the
+	 * flyweight exists.
+	 */
+	public class Vehicle {
+		private final Vec2 position = new Vec2();
+		private final Vec2 velocity = new Vec2();
+		private ByteBuffer chunk;
+		private int offset;
+
+		@Getter
+		private int index;
+
+		private Vehicle() {
+			moveTo(0);
+		}
+
+		/**
+		 * @param index The index of the vehicle to view.
+		 * @return This flyweight.
+		 */
+		public Vehicle moveTo(int index) {
+			this.chunk = chunkOf(index);
+			this.offset = offsetOf(index);
+			this.index = index;
+			return this;
+		}
+
+		public double getTime() {
+			return format.readTime(chunk, offset);
+		}
+
+		public float getTimeSinceLaunch() {
+			return format.readTimeSinceLaunch(chunk, offset);
+		}
+
+		public boolean isLaunched() {
+			return format.readLaunched(chunk, offset);
+		}
+
+		public boolean isAborted() {
+			return format.readAborted(chunk, offset);
+		}
+
+		/**
+		 * @return The vehicle's position, in a vector which is reused by
+		 * every call.
+		 */
+		public Vec2 getPosition() {
+			position.x = format.readPositionX(chunk, offset);
+			position.y = format.readPositionY(chunk, offset);
+			return position;
+		}
+
+		/**
+		 * @return The vehicle's velocity, in a vector which is reused by
+		 * every call.
+		 */
+		public Vec2 getVelocity() {
+			velocity.x = format.readVelocityX(chunk, offset);
+			velocity.y = format.readVelocityY(chunk, offset);
+			return velocity;
+		}
+
+		public float getAltitude() {
+			return format.readPositionY(chunk, offset);
+		}
+
+		public float getLongitude() {
+			return format.readPositionX(chunk, offset);
+		}
+
+		public float getOrientation() {
+			return format.readOrientation(chunk, offset);
+		}
+
+		public float getOrientationDegrees() {
+			return getOrientation() * (180.0f / (float) Math.PI);
+		}
+
+		public float getAngularVelocity() {
+			return format.readAngularVelocity(chunk, offset);
+		}
+
+		public float getDryMass() {
+			return dryMass;
+		}
+
+		/**
+		 * @return The total mass of the vehicle, including its fuel.
+		 */
+		public float getMass() {
+			double mass = dryMass;
+			for (int i = 0; i < format.getTankCount(); i++) {
+				mass += format.readStored(chunk, offset, i);
+			}
+			return (float) mass;
+		}
+
+		public float getFuelRemaining(FuelType type) {
+			int id = type.getId();
+			if (id < 0 || id >= tankByType.length || tankByType[id] < 0) return 0;
+			return format.readStored(chunk, offset, tankByType[id]);
+		}
+
+		public int getThrusterCount() {
+			return format.getThrusterCount();
+		}
+
+		/**
+		 * @param thruster The index of the thruster, as in the rocket.
+		 * @return True if the thruster is active.
+		 */
+		public boolean isActive(int thruster) {
+			return format.readActive(chunk, offset, thruster);
+		}
+
+		public float getThrottle(int thruster) {
+			return format.readThrottle(chunk, offset, thruster);
+		}
+
+		/**
+		 * @param thruster The index of the thruster, as in the rocket.
+		 * @return Its gimbal, in degrees.
+		 */
+		public float getGimbal(int thruster) {
+			return format.readGimbal(chunk, offset, thruster);
+		}
+	}
+}
@@ -1,129 +1,160 @@
 package net.javadiscord.challenges.launch.control;
 
+import lombok.Getter;
+import net.javadiscord.challenges.launch.guidance.LatencyHistogram;
 import net.javadiscord.challenges.launch.model.GameModel;
-import net.javadiscord.challenges.launch.model.Rocket;
-import net.javadiscord.challenges.launch.model.Vec2;
-import net.javadiscord.challenges.launch.view.GamePanel;
 
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the physics of a {@link World} in real time. Rendering is done
+ * separately, by the display's own render loop.
+ * <p>
+ *     The physics are always advanced in fixed steps of {@link #TIME_STEP},
+ *     however long the thread actually slept. The real time that passes,
+ *     scaled by the speed, is added to an accumulator, and as many steps as
+ *     fit are taken from it, up to a limit, so that after a long pause the
+ *     physics catch up gradually rather than in one huge step. Wake-ups are
+ *     scheduled against absolute {@link System#nanoTime()} deadlines, so the
+ *     tick rate doesn't drift.
+ * </p>
+ */
 public class GameUpdater extends Thread {
 	public static final double PHYSICS_FPS = 60.0;
 	public static final double MILLISECONDS_PER_PHYSICS_TICK = 1000.0 / PHYSICS_FPS;
 	public static final double PHYSICS_SPEED = 1.0;
 
-	public static final double DISPLAY_FPS = 60.0;
-	public static final double MILLISECONDS_PER_DISPLAY_FRAME = 1000.0 / DISPLAY_FPS;
+	/**
+	 * The fixed amount of simulated time each physics step advances by, in
+	 * seconds.
+	 */
+	public static final double TIME_STEP = 1.0 / PHYSICS_FPS;
 
-	private final GameModel model;
-	private final GamePanel gamePanel;
+	/**
+	 * The most steps taken per wake-up, in multiples of the number needed at
+	 * the current speed. Any more time owed than that is dropped.
+	 */
+	public static final int MAX_CATCH_UP = 4;
+
+	private static final long NANOS_PER_TICK = (long) (1_000_000_000.0 / PHYSICS_FPS);
+
+	@Getter
+	private final World world;
+
+	/**
+	 * The physics engine of the world's first vehicle.
+	 */
+	@Getter
+	private final PhysicsEngine physics;
 	private volatile boolean running = true;
 
-	public GameUpdater(GameModel model, GamePanel gamePanel) {
-		this.model = model;
-		this.gamePanel = gamePanel;
+	/**
+	 * The number of seconds of simulated time per second of real time.
+	 */
+	@Getter
+	private volatile double speed = PHYSICS_SPEED;
+
+	/**
+	 * How late each wake-up was relative to its deadline.
+	 */
+	@Getter
+	private final LatencyHistogram jitter = new LatencyHistogram();
+
+	/**
+	 * The number of physics steps taken.
+	 */
+	@Getter
+	private volatile long steps;
+
+	/**
+	 * The number of wake-ups which hit the step limit.
+	 */
+	@Getter
+	private volatile long catchUpLimitHits;
+
+	/**
+	 * The simulated time dropped because of the step limit, in seconds.
+	 */
+	@Getter
+	private volatile double droppedTime;
+
+	/**
+	 * The simulated time owed but not yet stepped, in seconds, which is
+	 * always less than a step unless time is being dropped.
+	 */
+	@Getter
+	private volatile double lag;
+
+	public GameUpdater(GameModel model) {
+		this(new World(List.of(model)));
+	}
+
+	public GameUpdater(World world) {
+		super("Physics");
+		this.world = world;
+		this.physics = world.getPhysics(0);
 	}
 
 	public void setRunning(boolean running) {
 		this.running = running;
 	}
 
+	/**
+	 * @param speed The number of seconds of simulated time to advance per
+	 *              second of real time.
+	 */
+	public void setSpeed(double speed) {
+		if (speed <= 0) throw new IllegalArgumentException("Speed must be positive.");
+		this.speed = speed;
+	}
+
 	@Override
 	public void run() {
-		long lastPhysicsUpdate = System.currentTimeMillis();
-		long lastDisplayUpdate = System.currentTimeMillis();
+		long last = System.nanoTime();
+		long deadline = last + NANOS_PER_TICK;
+		double accumulator = 0;
 		while (this.running) {
-			long currentTime = System.currentTimeMillis();
-			long timeSinceLastPhysicsUpdate = currentTime - lastPhysicsUpdate;
-			long timeSinceLastDisplayUpdate = currentTime - lastDisplayUpdate;
-			if (timeSinceLastPhysicsUpdate >= MILLISECONDS_PER_PHYSICS_TICK) {
-				double elapsedSeconds = timeSinceLastPhysicsUpdate / 1000.0;
-				this.updateModelPhysics(elapsedSeconds * PHYSICS_SPEED);
-				lastPhysicsUpdate = currentTime;
-				timeSinceLastPhysicsUpdate = 0L;
+			long now;
+			while ((now = System.nanoTime()) - deadline < 0) {
+				LockSupport.parkNanos(this, deadline - now);
 			}
-			if (timeSinceLastDisplayUpdate >= MILLISECONDS_PER_DISPLAY_FRAME) {
-				this.gamePanel.repaint();
-				lastDisplayUpdate = currentTime;
-				timeSinceLastDisplayUpdate = 0L;
+			jitter.record(now - deadline);
+
+			double speed = this.speed;
+			accumulator += (now - last) / 1_000_000_000.0 * speed;
+			last = now;
+			int maxSteps = (int) Math.ceil(speed * MAX_CATCH_UP);
+			int taken = 0;
+			while (accumulator >= TIME_STEP && taken < maxSteps) {
+				this.world.update(TIME_STEP);
+				accumulator -= TIME_STEP;
+				taken++;
 			}
-			long timeUntilNextPhysicsUpdate = (long) (MILLISECONDS_PER_PHYSICS_TICK - timeSinceLastPhysicsUpdate);
-			long timeUntilNextDisplayUpdate = (long) (MILLISECONDS_PER_DISPLAY_FRAME - timeSinceLastDisplayUpdate);
-
-			// Sleep to reduce CPU usage.
-			try {
-				Thread.sleep(Math.min(timeUntilNextPhysicsUpdate, timeUntilNextDisplayUpdate));
-			} catch (InterruptedException e) {
-				e.printStackTrace();
+			if (accumulator >= TIME_STEP) {
+				// Too far behind to catch up, so give up on the time owed.
+				catchUpLimitHits++;
+				droppedTime += accumulator;
+				accumulator = 0;
+			}
+			steps += taken;
+			lag = accumulator;
+
+			deadline += NANOS_PER_TICK;
+			if (now - deadline >= NANOS_PER_TICK) {
+				// Woke up more than a whole tick late, so reschedule from now
+				// rather than waking up repeatedly to make up the lost ticks.
+				deadline = now + NANOS_PER_TICK;
 			}
 		}
 	}
 
-	private void updateModelPhysics(double t) {
-		if (model.getTimeSinceLaunch() > 0.0f && !model.isLaunched()) {
-			model.launch();
-		}
-		if (model.isLaunched() || model.isAborted()) {
-			updateRocket(t);
-		}
-	}
-
-	private void updateRocket(double t) {
-		var r = model.getRocket();
-		var v = r.getVelocity();
-		var p = r.getPosition();
-		if (p.y > 0) {
-			v.y -= model.getEffectiveAccelerationDueToGravity() * t;
-		}
-
-		computeRocketAccelerations(r, t);
-
-		p.add((float) (v.x * t), (float) (v.y * t));
-		if (p.x > GameModel.EARTH_CIRCUMFERENCE) p.x -= GameModel.EARTH_CIRCUMFERENCE;
-		if (p.y < 0) {
-			p.y = 0;
-			v.y = 0;
-		}
-		r.setOrientation((float) (r.getOrientation() + r.getAngularVelocity() * t));
-
-		r.getGuidanceComputer().controlRocket(r, model.getTimeSinceLaunch());
-	}
-
-	private void computeRocketAccelerations(Rocket r, double t) {
-		Vec2 totalForce = new Vec2(0); // relative to the rocket
-		float totalAngularAcceleration = 0.0f;
-		for (var thruster : r.getThrusters()) {
-			if (thruster.isActive() && r.getFuelRemaining(thruster.getFuelType()) > 0) {
-				Vec2 thrust = thruster.getThrust();
-				Vec2 thrustDir = new Vec2(thrust).normalize();
-				Vec2 centerDir = new Vec2(0).sub(thruster.getPosition()).normalize();
-				float forceRatio = new Vec2(thrust).normalize().dot(centerDir);
-				totalForce.add(new Vec2(thrust).mul(forceRatio));
-
-				Vec2 torqueDir = new Vec2(centerDir.y, -centerDir.x);
-				float radius = thruster.getPosition().length();
-				float torque = radius * torqueDir.dot(thrustDir) * thrust.length();
-				totalAngularAcceleration += torque / (0.5f * r.getMass() * radius * radius);
-
-				r.consumeFuel(thruster.getFuelType(), thruster.getFuelBurnRate() * thruster.getThrottle() * (float) t);
-			}
-		}
-		float forceMagnitude = totalForce.length() * (float) t / r.getMass();
-		float angle = (float) Math.atan2(totalForce.y, totalForce.x);
-		angle += r.getOrientation() - (float) Math.PI / 2;
-		Vec2 worldForce = new Vec2(forceMagnitude * (float) Math.cos(angle), forceMagnitude * (float) Math.sin(angle));
-		r.getVelocity().add(worldForce);
-		r.setAngularVelocity(r.getAngularVelocity() + totalAngularAcceleration * (float) t);
-
-		// Air resistance
-		float airResistance = 1.0f - (float) (0.0001 * Math.random() * model.getAtmosphericDensity());
-		r.getVelocity().mul(airResistance);
-		r.setAngularVelocity(r.getAngularVelocity() * airResistance);
-
-		// Random perturbations
-		float angularPerturbation = (float) (0.005 * (2 * Math.random() - 1.0) * model.getAtmosphericDensity());
-		float linearPerturbationMagnitude = (float) (0.0001 * Math.random() * model.getAtmosphericDensity());
-		float linearPerturbationDirection = (float) (Math.random() * 2 * Math.PI);
-		Vec2 linearPerturbation = Vec2.fromPolar(linearPerturbationMagnitude, linearPerturbationDirection);
-		r.getVelocity().add(linearPerturbation);
-		r.setAngularVelocity(r.getAngularVelocity() + angularPerturbation);
+	/**
+	 * Gets a human-readable report of how well the physics kept to time.
+	 * @return The report.
+	 */
+	public String getReport() {
+		return String.format("Physics: %d steps at %.1fx, wake-up lateness %s, %d catch-up limit hits, %.3f s dropped%n",
+				steps, speed, jitter, catchUpLimitHits, droppedTime);
 	}
 }
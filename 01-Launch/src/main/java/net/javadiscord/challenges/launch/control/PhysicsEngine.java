@@ -0,0 +1,216 @@
+package net.javadiscord.challenges.launch.control;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.javadiscord.challenges.launch.integrator.Dynamics;
+import net.javadiscord.challenges.launch.integrator.Integrator;
+import net.javadiscord.challenges.launch.integrator.RocketState;
+import net.javadiscord.challenges.launch.integrator.SemiImplicitEuler;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.Thruster;
+
+import java.util.Arrays;
+
+/**
+ * The physics engine advances a {@link GameModel} by a given amount of time.
+ * It has no notion of the wall clock, so it can be driven either in real time
+ * by the {@link GameUpdater}, or as fast as possible by a {@link Simulation}.
+ */
+public class PhysicsEngine {
+	private final GameModel model;
+	private volatile TickListener[] tickListeners = new TickListener[0];
+
+	// Scratch state for accumulating thruster forces each tick.
+	private float forceX;
+	private float forceY;
+	private float angularAcceleration;
+
+	/**
+	 * The fuel burned this tick, indexed by fuel type id.
+	 */
+	private final float[] fuelDemand;
+
+	// The thrust for the current tick, as an acceleration in m/s^2, and its
+	// direction relative to the rocket's orientation.
+	private double thrustAcceleration;
+	private double thrustAngle;
+
+	/**
+	 * The numerical method used to advance the rocket's motion each tick.
+	 * Integrators keep scratch state, so this must not be shared with another
+	 * engine, and should only be changed while the engine isn't running.
+	 */
+	@Getter
+	@Setter
+	private Integrator integrator = new SemiImplicitEuler();
+	private final RocketState state = new RocketState();
+	private final Dynamics dynamics = new RocketDynamics();
+
+	public PhysicsEngine(GameModel model) {
+		this.model = model;
+		this.fuelDemand = new float[model.getRocket().getTankRegistry().getTypeCount()];
+	}
+
+	/**
+	 * Adds a listener that's notified at the end of every tick.
+	 * @param listener The listener to add.
+	 */
+	public synchronized void addTickListener(TickListener listener) {
+		var listeners = Arrays.copyOf(tickListeners, tickListeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		tickListeners = listeners;
+	}
+
+	/**
+	 * Applies any queued commands and thruster commands, then advances the
+	 * model's clock, runs any of the guidance computer's scheduled tasks which
+	 * are due, and advances the physics. Once the launch is aborted, the
+	 * thruster commands are ignored.
+	 * @param t The amount of time to advance by, in seconds.
+	 */
+	public void update(double t) {
+		model.applyCommands();
+		if (!model.isAborted()) {
+			// Once aborted, the guidance computer's commands are ignored, so
+			// it can't bring the engines back.
+			model.getRocket().getCommandBuffer().apply();
+		}
+		model.advanceTime(t);
+		model.getScheduler().runDue();
+		if (model.getTimeSinceLaunch() > 0.0f && !model.isLaunched()) {
+			model.launch();
+		}
+		if (model.isLaunched() || model.isAborted()) {
+			updateRocket(t);
+		}
+		for (var listener : tickListeners) {
+			listener.onTick(model);
+		}
+	}
+
+	private void updateRocket(double t) {
+		var r = model.getRocket();
+		var v = r.getVelocity();
+		var p = r.getPosition();
+		accumulateThrusters(r, t);
+
+		state.px = p.x;
+		state.py = p.y;
+		state.vx = v.x;
+		state.vy = v.y;
+		state.theta = r.getOrientation();
+		state.omega = r.getAngularVelocity();
+		integrator.step(dynamics, state, t);
+		p.x = (float) state.px;
+		p.y = (float) state.py;
+		v.x = (float) state.vx;
+		v.y = (float) state.vy;
+		r.setAngularVelocity((float) state.omega);
+		r.setOrientation((float) state.theta);
+
+		if (p.x > GameModel.EARTH_CIRCUMFERENCE) p.x -= GameModel.EARTH_CIRCUMFERENCE;
+		if (p.y < 0) {
+			p.y = 0;
+			v.y = 0;
+		}
+		model.updateEnvironment();
+
+		r.getGuidanceComputer().controlRocket(r, model.getTimeSinceLaunch());
+	}
+
+	/**
+	 * Accumulates the force and torque of all active thrusters, and burns
+	 * their fuel for the tick. The thrust is held constant over the tick, so
+	 * the integrator only has to rotate it with the rocket. The fuel that
+	 * each thruster burns is totalled by fuel type, and taken from each tank
+	 * once, after all thrusters have fired with the mass at the start of the
+	 * tick. This runs every tick, so it's written with plain float math on
+	 * the engine's scratch fields and allocates nothing.
+	 */
+	private void accumulateThrusters(Rocket r, double t) {
+		float dt = (float) t;
+		var tanks = r.getTankRegistry();
+		float mass = r.getMass();
+		// Total force relative to the rocket, and total angular acceleration.
+		forceX = 0;
+		forceY = 0;
+		angularAcceleration = 0;
+		Arrays.fill(fuelDemand, 0);
+		for (int i = 0; i < r.getThrusterCount(); i++) {
+			var thruster = r.getThruster(i);
+			int fuelType = thruster.getFuelType().getId();
+			if (thruster.isActive() && tanks.getStored(fuelType) > 0) {
+				accumulateThrust(thruster, mass);
+				fuelDemand[fuelType] += thruster.getFuelBurnRate() * thruster.getThrottle() * dt;
+			}
+		}
+		for (int type = 0; type < fuelDemand.length; type++) {
+			if (fuelDemand[type] > 0) tanks.consume(type, fuelDemand[type]);
+		}
+		thrustAcceleration = length(forceX, forceY) / r.getMass();
+		thrustAngle = Math.atan2(forceY, forceX) - Math.PI / 2;
+	}
+
+	/**
+	 * Adds a single thruster's contribution to the scratch force and angular
+	 * acceleration. Only the component of the thrust pointing towards the
+	 * rocket's center produces linear force, and the component perpendicular
+	 * to that produces torque. The thruster caches both of these per Newton
+	 * of thrust, so no trigonometry is needed here.
+	 */
+	private void accumulateThrust(Thruster thruster, float mass) {
+		float thrust = thruster.getThrustMagnitude();
+		forceX += thrust * thruster.getLinearFactorX();
+		forceY += thrust * thruster.getLinearFactorY();
+		float torque = thrust * thruster.getTorqueFactor();
+		angularAcceleration += torque / (mass * thruster.getGeometry().getInertiaFactor());
+	}
+
+	private static float length(float x, float y) {
+		return (float) Math.sqrt(x * x + y * y);
+	}
+
+	/**
+	 * The rocket's equations of motion for the current tick: the thrust
+	 * accumulated at its start, rotated with the rocket, and gravity. Air
+	 * resistance and random perturbations are applied as impulses. The
+	 * density and gravity are those at the altitude the tick started from,
+	 * looked up once by the model.
+	 */
+	private class RocketDynamics implements Dynamics {
+		@Override
+		public void derivative(RocketState s, RocketState out) {
+			double angle = thrustAngle + s.theta;
+			out.px = s.vx;
+			out.py = s.vy;
+			out.vx = thrustAcceleration * Math.cos(angle);
+			out.vy = thrustAcceleration * Math.sin(angle);
+			if (s.py > 0) {
+				out.vy -= model.getEffectiveAccelerationDueToGravity((float) s.vx);
+			}
+			out.theta = s.omega;
+			out.omega = angularAcceleration;
+		}
+
+		@Override
+		public void applyImpulses(RocketState s) {
+			var random = model.getRandom();
+			double density = model.getAtmosphericDensity();
+
+			// Air resistance
+			float airResistance = 1.0f - (float) (0.0001 * random.nextDouble() * density);
+			s.vx *= airResistance;
+			s.vy *= airResistance;
+			s.omega *= airResistance;
+
+			// Random perturbations
+			float angularPerturbation = (float) (0.005 * (2 * random.nextDouble() - 1.0) * density);
+			float linearPerturbationMagnitude = (float) (0.0001 * random.nextDouble() * density);
+			float linearPerturbationDirection = (float) (random.nextDouble() * 2 * Math.PI);
+			s.vx += linearPerturbationMagnitude * Math.cos(linearPerturbationDirection);
+			s.vy += linearPerturbationMagnitude * Math.sin(linearPerturbationDirection);
+			s.omega += angularPerturbation;
+		}
+	}
+}
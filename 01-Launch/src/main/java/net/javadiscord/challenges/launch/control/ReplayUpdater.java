@@ -0,0 +1,55 @@
+package net.javadiscord.challenges.launch.control;
+
+import net.javadiscord.challenges.launch.telemetry.ReplayPlayer;
+
+import java.util.function.Consumer;
+
+/**
+ * Drives a {@link ReplayPlayer} in real time, in place of the
+ * {@link GameUpdater}. The player's model is published as a snapshot after
+ * every frame, for the display to render.
+ */
+public class ReplayUpdater extends Thread {
+	private final ReplayPlayer player;
+	private final SnapshotPublisher snapshots;
+	private final Consumer<ReplayPlayer> onFrame;
+	private volatile boolean running = true;
+
+	/**
+	 * @param player The player to drive.
+	 * @param snapshots The publisher to publish the player's model through.
+	 * @param onFrame A callback run after each frame, for updating any
+	 *                playback status.
+	 */
+	public ReplayUpdater(ReplayPlayer player, SnapshotPublisher snapshots, Consumer<ReplayPlayer> onFrame) {
+		super("Replay");
+		this.player = player;
+		this.snapshots = snapshots;
+		this.onFrame = onFrame;
+	}
+
+	public void setRunning(boolean running) {
+		this.running = running;
+	}
+
+	@Override
+	public void run() {
+		long lastFrame = System.nanoTime();
+		while (this.running) {
+			long now = System.nanoTime();
+			// Holding the player's lock keeps seeks from the UI out of the
+			// middle of a snapshot.
+			synchronized (player) {
+				player.advance((now - lastFrame) / 1_000_000_000.0);
+				snapshots.publish(player.getModel());
+			}
+			lastFrame = now;
+			onFrame.accept(player);
+			try {
+				Thread.sleep((long) GameUpdater.MILLISECONDS_PER_PHYSICS_TICK);
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package net.javadiscord.challenges.launch.control;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.model.GameModel;
+
+import java.util.function.Predicate;
+
+/**
+ * A headless simulation which steps a model's physics with a fixed time step,
+ * as fast as the CPU allows. Nothing is rendered and nothing sleeps, so a
+ * whole ascent can be flown in a fraction of the time it takes in the
+ * {@link net.javadiscord.challenges.launch.view.GameFrame}.
+ */
+@Getter
+public class Simulation {
+	public static final double DEFAULT_TIME_STEP = 1.0 / GameUpdater.PHYSICS_FPS;
+
+	private final GameModel model;
+	private final PhysicsEngine physics;
+
+	/**
+	 * The fixed amount of simulated time that each step advances by, in
+	 * seconds.
+	 */
+	private final double timeStep;
+
+	/**
+	 * The number of steps taken so far.
+	 */
+	private long ticks;
+
+	public Simulation(GameModel model, double timeStep) {
+		if (timeStep <= 0) throw new IllegalArgumentException("Time step must be positive.");
+		this.model = model;
+		this.physics = new PhysicsEngine(model);
+		this.timeStep = timeStep;
+	}
+
+	public Simulation(GameModel model) {
+		this(model, DEFAULT_TIME_STEP);
+	}
+
+	/**
+	 * Starts the model's launch sequence. Liftoff happens after
+	 * {@link GameModel#LAUNCH_SEQUENCE_DURATION} seconds of simulated time.
+	 */
+	public void startLaunch() {
+		model.startLaunch();
+	}
+
+	/**
+	 * Advances the simulation by a single time step.
+	 */
+	public void step() {
+		physics.update(timeStep);
+		ticks++;
+	}
+
+	/**
+	 * Advances the simulation by the given amount of simulated time.
+	 * @param seconds The amount of time to simulate, in seconds.
+	 */
+	public void run(double seconds) {
+		long steps = (long) Math.ceil(seconds / timeStep);
+		for (long i = 0; i < steps; i++) {
+			step();
+		}
+	}
+
+	/**
+	 * Advances the simulation until the given condition is met, or until the
+	 * given amount of time has passed since launch, or until the launch is
+	 * aborted.
+	 * @param condition The condition to stop at.
+	 * @param maxTimeSinceLaunch The time since launch, in seconds, after which
+	 *                           to stop regardless of the condition.
+	 * @return True if the condition was met, or false if time ran out.
+	 * @throws IllegalStateException If the launch sequence hasn't been started.
+	 */
+	public boolean runUntil(Predicate<GameModel> condition, float maxTimeSinceLaunch) {
+		if (model.getTimeSinceLaunch() < -GameModel.LAUNCH_SEQUENCE_DURATION) {
+			throw new IllegalStateException("The launch sequence has not been started.");
+		}
+		while (model.getTimeSinceLaunch() < maxTimeSinceLaunch && !model.isAborted()) {
+			if (condition.test(model)) return true;
+			step();
+		}
+		return condition.test(model);
+	}
+}
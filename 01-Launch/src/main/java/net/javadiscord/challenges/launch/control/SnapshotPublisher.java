@@ -0,0 +1,58 @@
+package net.javadiscord.challenges.launch.control;
+
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.ModelSnapshot;
+
+/**
+ * Publishes a snapshot of a model at the end of every tick, through a
+ * {@link TripleBuffer}, so that a reader on another thread, such as the
+ * renderer, always sees a complete and consistent state without taking any
+ * locks. Add it as a tick listener to the model's physics engine, or call
+ * {@link #publish(GameModel)} from whichever thread owns the model.
+ */
+public class SnapshotPublisher implements TickListener {
+	private final TripleBuffer<ModelSnapshot> buffer;
+
+	/**
+	 * Creates a publisher, and publishes the model's current state.
+	 * @param model The model to publish snapshots of.
+	 */
+	public SnapshotPublisher(GameModel model) {
+		this.buffer = new TripleBuffer<>(() -> new ModelSnapshot(model.getRocket()));
+		publish(model);
+	}
+
+	@Override
+	public void onTick(GameModel model) {
+		publish(model);
+	}
+
+	/**
+	 * Captures and publishes the model's current state. This must only be
+	 * called by the thread that owns the model.
+	 * @param model The model.
+	 */
+	public void publish(GameModel model) {
+		buffer.getWriteBuffer().capture(model);
+		buffer.publish();
+	}
+
+	/**
+	 * Gets the latest published snapshot. This must only be called by a
+	 * single reader thread, and the snapshot stays unchanged until its next
+	 * call.
+	 * @return The latest snapshot.
+	 */
+	public ModelSnapshot acquire() {
+		return buffer.acquire();
+	}
+
+	/**
+	 * Checks whether a snapshot has been published since the last acquire.
+	 * This must only be called by the reader thread.
+	 * @return True if there is a newer snapshot to acquire.
+	 */
+	public boolean hasFresh() {
+		return buffer.hasFresh();
+	}
+}
@@ -0,0 +1,17 @@
+package net.javadiscord.challenges.launch.control;
+
+import net.javadiscord.challenges.launch.model.GameModel;
+
+/**
+ * A listener which is notified on the physics thread at the end of every
+ * physics tick, after the model has been updated. Listeners run inline with
+ * the physics, so they should be quick and shouldn't allocate.
+ */
+@FunctionalInterface
+public interface TickListener {
+	/**
+	 * Called at the end of a physics tick.
+	 * @param model The model that was updated.
+	 */
+	void onTick(GameModel model);
+}
@@ -0,0 +1,83 @@
+package net.javadiscord.challenges.launch.control;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free triple buffer, for handing the latest version of some state
+ * from one writer thread to one reader thread. The writer fills its back
+ * buffer and publishes it, and the reader acquires the latest published
+ * buffer. Neither ever waits for the other, and since there are three
+ * buffers, the writer never touches the buffer the reader holds, so reads
+ * never tear.
+ * <p>
+ *     The buffers are created up front and reused, so publishing and
+ *     acquiring don't allocate. If the writer publishes more than once
+ *     between reads, the reader only sees the latest.
+ * </p>
+ * @param <T> The type of buffer.
+ */
+public class TripleBuffer<T> {
+	private static final int INDEX_MASK = 0b011;
+	private static final int FRESH = 0b100;
+
+	private final Object[] buffers;
+
+	/**
+	 * The index of the buffer between the writer and reader, along with the
+	 * {@link #FRESH} bit, which is set when it's been published but not yet
+	 * acquired.
+	 */
+	private final AtomicInteger middle = new AtomicInteger(1);
+
+	// Owned by the writer and reader threads respectively.
+	private int writeIndex = 0;
+	private int readIndex = 2;
+
+	/**
+	 * @param factory Creates each of the three buffers.
+	 */
+	public TripleBuffer(Supplier<T> factory) {
+		this.buffers = new Object[]{factory.get(), factory.get(), factory.get()};
+	}
+
+	/**
+	 * Gets the buffer that the writer should fill before publishing. This may
+	 * only be called by the writer thread.
+	 * @return The back buffer.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getWriteBuffer() {
+		return (T) buffers[writeIndex];
+	}
+
+	/**
+	 * Publishes the back buffer, making it the latest buffer for the reader,
+	 * and takes over a free buffer to write to next. This may only be called
+	 * by the writer thread.
+	 */
+	public void publish() {
+		writeIndex = middle.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Gets the latest published buffer. It won't be changed until the next
+	 * call to this method. This may only be called by the reader thread.
+	 * @return The latest buffer.
+	 */
+	@SuppressWarnings("unchecked")
+	public T acquire() {
+		if ((middle.get() & FRESH) != 0) {
+			readIndex = middle.getAndSet(readIndex) & INDEX_MASK;
+		}
+		return (T) buffers[readIndex];
+	}
+
+	/**
+	 * Checks whether a buffer has been published since the last acquire.
+	 * @return True if there is a newer buffer to acquire.
+	 */
+	public boolean hasFresh() {
+		return (middle.get() & FRESH) != 0;
+	}
+}
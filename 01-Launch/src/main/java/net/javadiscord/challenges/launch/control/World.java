@@ -0,0 +1,145 @@
+package net.javadiscord.challenges.launch.control;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.model.GameModel;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Many vehicles flying at once, each with its own model, guidance computer
+ * and physics engine. Each tick, the vehicles are stepped in parallel over a
+ * fork-join pool, and then the world's tick listeners are notified for each
+ * vehicle in turn, in order.
+ * <p>
+ *     Vehicles share no mutable state, and each has its own random generator,
+ *     so the result of a tick doesn't depend on how the vehicles were spread
+ *     over threads, as long as their guidance computers don't share state
+ *     either. A vehicle's own tick listeners run during the parallel phase,
+ *     on whichever thread stepped it; the world's listeners always run on
+ *     the thread calling {@link #update(double)}.
+ * </p>
+ */
+public class World {
+	/**
+	 * The number of vehicles below which a tick isn't worth splitting up.
+	 */
+	private static final int PARALLEL_THRESHOLD = 16;
+
+	@Getter
+	private final List<GameModel> vehicles;
+	private final PhysicsEngine[] engines;
+	private final ForkJoinPool pool;
+	private volatile TickListener[] tickListeners = new TickListener[0];
+
+	/**
+	 * The number of ticks taken so far.
+	 */
+	@Getter
+	private long ticks;
+
+	/**
+	 * Creates a world stepped over the common pool.
+	 * @param vehicles The vehicles' models.
+	 */
+	public World(List<GameModel> vehicles) {
+		this(vehicles, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param vehicles The vehicles' models, which mustn't be shared with any
+	 *                 other world or physics engine.
+	 * @param pool The pool to step the vehicles over.
+	 */
+	public World(List<GameModel> vehicles, ForkJoinPool pool) {
+		if (vehicles.isEmpty()) throw new IllegalArgumentException("A world needs at least one vehicle.");
+		this.vehicles = List.copyOf(vehicles);
+		this.engines = this.vehicles.stream().map(PhysicsEngine::new).toArray(PhysicsEngine[]::new);
+		this.pool = pool;
+	}
+
+	public int getVehicleCount() {
+		return engines.length;
+	}
+
+	public GameModel getVehicle(int index) {
+		return vehicles.get(index);
+	}
+
+	/**
+	 * @param index The index of a vehicle.
+	 * @return The physics engine that steps it.
+	 */
+	public PhysicsEngine getPhysics(int index) {
+		return engines[index];
+	}
+
+	/**
+	 * Adds a listener that's notified for every vehicle, in order, at the end
+	 * of every tick.
+	 * @param listener The listener to add.
+	 */
+	public synchronized void addTickListener(TickListener listener) {
+		var listeners = Arrays.copyOf(tickListeners, tickListeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		tickListeners = listeners;
+	}
+
+	/**
+	 * Starts every vehicle's launch sequence at once.
+	 */
+	public void startLaunch() {
+		for (var vehicle : vehicles) {
+			vehicle.startLaunch();
+		}
+	}
+
+	/**
+	 * Advances every vehicle by the given amount of time.
+	 * @param t The amount of time to advance by, in seconds.
+	 */
+	public void update(double t) {
+		if (engines.length < PARALLEL_THRESHOLD) {
+			for (var engine : engines) {
+				engine.update(t);
+			}
+		} else {
+			pool.invoke(new Step(t, 0, engines.length));
+		}
+		ticks++;
+		for (var listener : tickListeners) {
+			for (var vehicle : vehicles) {
+				listener.onTick(vehicle);
+			}
+		}
+	}
+
+	/**
+	 * Steps a range of vehicles, splitting it in half until it's small.
+	 */
+	private class Step extends RecursiveAction {
+		private final double t;
+		private final int from;
+		private final int to;
+
+		Step(double t, int from, int to) {
+			this.t = t;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= PARALLEL_THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					engines[i].update(t);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Step(t, from, middle), new Step(t, middle, to));
+			}
+		}
+	}
+}
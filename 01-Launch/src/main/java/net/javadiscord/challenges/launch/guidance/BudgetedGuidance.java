@@ -0,0 +1,219 @@
+package net.javadiscord.challenges.launch.guidance;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.Scheduler;
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.ThrusterCommandBuffer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wraps another guidance computer to hold it to a real-time budget. Every
+ * call is timed and recorded in a latency histogram for each of the three
+ * guidance methods, and any call that takes longer than the budget counts as
+ * an overrun.
+ * <p>
+ *     With the {@link OverrunPolicy#FLAG} policy, calls are made inline, and
+ *     overruns are only counted. With the {@link OverrunPolicy#SKIP} policy,
+ *     calls are handed to a dedicated watchdog-supervised guidance thread,
+ *     and the physics thread only waits for them up to the budget. A call
+ *     that overruns is abandoned, so the physics carry on without it, and any
+ *     further calls are skipped until it eventually finishes. Only
+ *     {@link #controlRocket(Rocket, float)} is ever skipped, since the
+ *     launch calls happen just once. Note that an abandoned call may still
+ *     change the rocket's thrusters while the physics are running, unless
+ *     it commands them through the rocket's {@link ThrusterCommandBuffer}.
+ * </p>
+ */
+public class BudgetedGuidance implements GuidanceComputer {
+	public enum OverrunPolicy {
+		/**
+		 * Run calls inline, and count any overruns.
+		 */
+		FLAG,
+		/**
+		 * Run calls on a guidance thread, and stop waiting for them once they
+		 * overrun.
+		 */
+		SKIP
+	}
+
+	private static final int LAUNCH_SEQUENCE_START = 0;
+	private static final int LAUNCH = 1;
+	private static final int CONTROL_ROCKET = 2;
+	private static final String[] METHOD_NAMES = {"launchSequenceStart", "launch", "controlRocket"};
+
+	@Getter
+	private final GuidanceComputer delegate;
+	@Getter
+	private final long budgetNanos;
+	@Getter
+	private final OverrunPolicy policy;
+
+	private final LatencyHistogram[] histograms = {new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram()};
+	private final long[] overruns = new long[METHOD_NAMES.length];
+	private final long[] skipped = new long[METHOD_NAMES.length];
+
+	// Handoff to the guidance thread, when using the SKIP policy. The plain
+	// fields are published by the volatile write to requested.
+	private Thread guidanceThread;
+	private Thread caller;
+	private int method;
+	private Rocket rocket;
+	private float t;
+	private Scheduler scheduler;
+	private volatile long requested;
+	private volatile long completed;
+
+	/**
+	 * @param delegate The guidance computer to wrap.
+	 * @param budgetNanos The time budget for each call, in nanoseconds.
+	 * @param policy What to do about calls that overrun the budget.
+	 */
+	public BudgetedGuidance(GuidanceComputer delegate, long budgetNanos, OverrunPolicy policy) {
+		this.delegate = delegate;
+		this.budgetNanos = budgetNanos;
+		this.policy = policy;
+	}
+
+	@Override
+	public void launchSequenceStart(Rocket rocket, float t) {
+		launchSequenceStart(rocket, t, null);
+	}
+
+	@Override
+	public void launchSequenceStart(Rocket rocket, float t, Scheduler scheduler) {
+		this.scheduler = scheduler;
+		call(LAUNCH_SEQUENCE_START, rocket, t);
+	}
+
+	@Override
+	public void launch(Rocket rocket) {
+		call(LAUNCH, rocket, 0);
+	}
+
+	@Override
+	public void controlRocket(Rocket rocket, float t) {
+		call(CONTROL_ROCKET, rocket, t);
+	}
+
+	private void call(int method, Rocket rocket, float t) {
+		if (policy == OverrunPolicy.FLAG || method != CONTROL_ROCKET) {
+			// The launch calls only happen once, so they can't be skipped.
+			awaitGuidanceThread();
+			long elapsed = invoke(method, rocket, t);
+			if (elapsed > budgetNanos) overruns[method]++;
+			return;
+		}
+		if (completed != requested) {
+			// An earlier call overran and is still running.
+			skipped[method]++;
+			return;
+		}
+		if (guidanceThread == null) startGuidanceThread();
+		this.caller = Thread.currentThread();
+		this.method = method;
+		this.rocket = rocket;
+		this.t = t;
+		long request = requested + 1;
+		requested = request;
+		LockSupport.unpark(guidanceThread);
+		long deadline = System.nanoTime() + budgetNanos;
+		while (completed != request) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				overruns[method]++;
+				return;
+			}
+			LockSupport.parkNanos(this, remaining);
+		}
+	}
+
+	/**
+	 * Waits for any abandoned call on the guidance thread to finish.
+	 */
+	private void awaitGuidanceThread() {
+		while (completed != requested) {
+			LockSupport.parkNanos(this, budgetNanos);
+		}
+	}
+
+	private long invoke(int method, Rocket rocket, float t) {
+		long start = System.nanoTime();
+		switch (method) {
+			case LAUNCH_SEQUENCE_START -> {
+				if (scheduler == null) {
+					delegate.launchSequenceStart(rocket, t);
+				} else {
+					delegate.launchSequenceStart(rocket, t, scheduler);
+				}
+			}
+			case LAUNCH -> delegate.launch(rocket);
+			default -> delegate.controlRocket(rocket, t);
+		}
+		long elapsed = System.nanoTime() - start;
+		histograms[method].record(elapsed);
+		return elapsed;
+	}
+
+	private void startGuidanceThread() {
+		guidanceThread = new Thread(() -> {
+			long handled = 0;
+			while (true) {
+				while (requested == handled) {
+					LockSupport.park(this);
+				}
+				handled = requested;
+				try {
+					invoke(method, rocket, t);
+				} catch (RuntimeException e) {
+					e.printStackTrace();
+				}
+				completed = handled;
+				LockSupport.unpark(caller);
+			}
+		}, "Guidance");
+		guidanceThread.setDaemon(true);
+		guidanceThread.start();
+	}
+
+	public LatencyHistogram getLaunchSequenceStartLatency() {
+		return histograms[LAUNCH_SEQUENCE_START];
+	}
+
+	public LatencyHistogram getLaunchLatency() {
+		return histograms[LAUNCH];
+	}
+
+	public LatencyHistogram getControlRocketLatency() {
+		return histograms[CONTROL_ROCKET];
+	}
+
+	/**
+	 * @return The total number of calls which overran the budget.
+	 */
+	public long getOverrunCount() {
+		return overruns[0] + overruns[1] + overruns[2];
+	}
+
+	/**
+	 * @return The total number of calls which were skipped because an earlier
+	 * call was still running.
+	 */
+	public long getSkippedCount() {
+		return skipped[0] + skipped[1] + skipped[2];
+	}
+
+	/**
+	 * Gets a human-readable report of the latency of each guidance method.
+	 * @return The report.
+	 */
+	public String getReport() {
+		var sb = new StringBuilder(String.format("Guidance budget: %.1f us (%s)%n", budgetNanos / 1000.0, policy));
+		for (int i = 0; i < METHOD_NAMES.length; i++) {
+			sb.append(String.format("%-20s %s, overruns = %d, skipped = %d%n", METHOD_NAMES[i], histograms[i], overruns[i], skipped[i]));
+		}
+		return sb.toString();
+	}
+}
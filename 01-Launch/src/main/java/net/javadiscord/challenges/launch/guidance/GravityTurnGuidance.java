@@ -0,0 +1,163 @@
+package net.javadiscord.challenges.launch.guidance;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.ThrusterCommandBuffer;
+import net.javadiscord.challenges.launch.model.ThrusterGroup;
+
+/**
+ * A guidance computer which flies a gravity turn described by a handful of
+ * parameters, so that its ascent profile can be tuned by an optimizer rather
+ * than by hand. The rocket lifts off vertically, then pitches over towards
+ * the horizon at a constant rate once it's high enough, and cuts its
+ * engines once it reaches orbital speed above the Karman line. Its pitch is
+ * held by gimballing the main engines.
+ */
+public class GravityTurnGuidance implements GuidanceComputer {
+	/**
+	 * How many degrees to gimbal for every degree of pitch error, and for
+	 * every degree per second of pitch rate.
+	 */
+	private static final float PITCH_GAIN = 2.0f;
+	private static final float DAMPING_GAIN = 4.0f;
+
+	@Getter
+	private final Profile profile;
+	private ThrusterGroup mainEngines;
+	private ThrusterCommandBuffer commands;
+	private boolean cutOff;
+
+	/**
+	 * The time since launch at which the rocket passed the pitch-over
+	 * altitude, or NaN if it hasn't yet.
+	 */
+	private float pitchOverTime;
+
+	public GravityTurnGuidance(Profile profile) {
+		this.profile = profile;
+	}
+
+	/**
+	 * Flies the {@link Profile#DEFAULT} profile.
+	 */
+	public GravityTurnGuidance() {
+		this(Profile.DEFAULT);
+	}
+
+	/**
+	 * @param parameters The profile's parameters, in the order of
+	 *                   {@link Profile#of(double[])}.
+	 */
+	public GravityTurnGuidance(double[] parameters) {
+		this(Profile.of(parameters));
+	}
+
+	@Override
+	public void launchSequenceStart(Rocket rocket, float t) {
+		mainEngines = rocket.getThrusterGroup("ME");
+		commands = rocket.getCommandBuffer();
+		commands.setThrottle(mainEngines, profile.throttle());
+		commands.setGimbal(mainEngines, 0);
+		commands.setActive(mainEngines, false);
+		commands.submit();
+		cutOff = false;
+		pitchOverTime = Float.NaN;
+	}
+
+	@Override
+	public void launch(Rocket rocket) {
+		commands.setActive(mainEngines, true);
+		commands.submit();
+	}
+
+	@Override
+	public void controlRocket(Rocket rocket, float t) {
+		if (cutOff) return;
+		if (rocket.getAltitude() >= GameModel.KARMAN_LINE && Math.abs(rocket.getVelocity().x) >= GameModel.ORBITAL_SPEED) {
+			cutOff = true;
+			commands.setActive(mainEngines, false);
+			commands.setGimbal(mainEngines, 0);
+			commands.submit();
+			return;
+		}
+		float error = getTargetPitch(rocket, t) - rocket.getOrientationDegrees();
+		if (error > 180) error -= 360;
+		if (error < -180) error += 360;
+		float rate = (float) Math.toDegrees(rocket.getAngularVelocity());
+		commands.setGimbal(mainEngines, -(PITCH_GAIN * error - DAMPING_GAIN * rate));
+		commands.setThrottle(mainEngines, rocket.getAltitude() < profile.throttleAltitude() ? profile.throttle() : profile.upperThrottle());
+		commands.submit();
+	}
+
+	/**
+	 * Gets the pitch to hold at a point in the ascent, which is vertical until
+	 * the rocket passes the pitch-over altitude, and then falls at the pitch
+	 * rate until it reaches the final pitch.
+	 */
+	private float getTargetPitch(Rocket rocket, float t) {
+		if (Float.isNaN(pitchOverTime)) {
+			if (rocket.getAltitude() < profile.pitchOverAltitude()) return 90;
+			pitchOverTime = t;
+		}
+		return Math.max(profile.finalPitch(), 90 - profile.pitchRate() * (t - pitchOverTime));
+	}
+
+	/**
+	 * The parameters of an ascent.
+	 * @param pitchOverAltitude The altitude at which to start pitching over,
+	 *                          in meters.
+	 * @param pitchRate The rate at which to pitch over, in degrees per second.
+	 * @param finalPitch The pitch to stop pitching over at, in degrees, where
+	 *                   90 is vertical and 0 is horizontal.
+	 * @param throttle The main engines' throttle in the lower atmosphere.
+	 * @param throttleAltitude The altitude above which to switch to the upper
+	 *                         throttle, in meters.
+	 * @param upperThrottle The main engines' throttle above that altitude.
+	 */
+	public record Profile(
+			float pitchOverAltitude,
+			float pitchRate,
+			float finalPitch,
+			float throttle,
+			float throttleAltitude,
+			float upperThrottle
+	) {
+		/**
+		 * The names of the parameters, in order.
+		 */
+		public static final String[] NAMES = {"pitchOverAltitude", "pitchRate", "finalPitch", "throttle", "throttleAltitude", "upperThrottle"};
+
+		/**
+		 * Reasonable bounds on each parameter, in order, for searching over.
+		 */
+		public static final double[] LOWER = {100, 0.1, 0, 0.4, 0, 0.4};
+		public static final double[] UPPER = {20_000, 5, 45, 1.05, 80_000, 1.05};
+
+		/**
+		 * A profile that reaches orbit in the default atmosphere, as found by
+		 * a CMA-ES search of 600 candidates with seed 1.
+		 */
+		public static final Profile DEFAULT = new Profile(100, 0.37f, 10.7f, 1.05f, 80_000, 0.77f);
+
+		/**
+		 * @param parameters The parameters, in the order they're declared.
+		 * @return The profile.
+		 */
+		public static Profile of(double[] parameters) {
+			if (parameters.length != NAMES.length) {
+				throw new IllegalArgumentException("Expected " + NAMES.length + " parameters, but got " + parameters.length);
+			}
+			return new Profile(
+					(float) parameters[0],
+					(float) parameters[1],
+					(float) parameters[2],
+					(float) parameters[3],
+					(float) parameters[4],
+					(float) parameters[5]
+			);
+		}
+
+	}
+}
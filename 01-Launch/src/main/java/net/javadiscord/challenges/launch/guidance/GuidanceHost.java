@@ -0,0 +1,206 @@
+package net.javadiscord.challenges.launch.guidance;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.model.EventQueue;
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.ThrusterCommandBuffer;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Runs guidance computers on behalf of simulations in other processes, which
+ * connect to it with a {@link RemoteGuidanceComputer}. Each connection is one
+ * flight, flown by a new guidance computer on a thread of its own.
+ * <p>
+ *     The guidance computer controls a mirror of the simulated rocket, whose
+ *     state is overwritten with the rocket's before every call. The thruster
+ *     settings it changes directly on the mirror are sent back to be applied
+ *     at once, and any frame it submits to the mirror's command buffer is sent
+ *     back to be submitted to the rocket's, so that both take effect at the
+ *     same point as they would locally. Its scheduled tasks are kept in a
+ *     queue here, keyed to the simulation's time, and run when the simulation
+ *     sends a heartbeat for them.
+ * </p>
+ */
+public class GuidanceHost implements Closeable {
+	@Getter
+	private final Path path;
+	private final ServerSocketChannel serverChannel;
+	private final Supplier<? extends GuidanceComputer> guidanceFactory;
+
+	private GuidanceHost(Path path, ServerSocketChannel serverChannel, Supplier<? extends GuidanceComputer> guidanceFactory) {
+		this.path = path;
+		this.serverChannel = serverChannel;
+		this.guidanceFactory = guidanceFactory;
+	}
+
+	/**
+	 * Creates a host listening on a Unix domain socket. Any file already at
+	 * the socket's path, such as one left by a host which didn't shut down
+	 * cleanly, is replaced.
+	 * @param path The path of the socket.
+	 * @param guidanceFactory Creates a guidance computer for each flight.
+	 * @return The host, which doesn't accept any flights until it's served.
+	 * @throws IOException If the socket can't be created.
+	 */
+	public static GuidanceHost bind(Path path, Supplier<? extends GuidanceComputer> guidanceFactory) throws IOException {
+		Files.deleteIfExists(path);
+		var serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			serverChannel.bind(UnixDomainSocketAddress.of(path));
+			return new GuidanceHost(path, serverChannel, guidanceFactory);
+		} catch (IOException | RuntimeException e) {
+			serverChannel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Accepts flights until the host is closed, and flies each on its own
+	 * thread.
+	 * @throws IOException If a connection can't be accepted.
+	 */
+	public void serve() throws IOException {
+		try {
+			while (serverChannel.isOpen()) {
+				var channel = serverChannel.accept();
+				var session = new Session(channel, guidanceFactory.get());
+				var thread = new Thread(session::run, "Guidance Host Session");
+				thread.setDaemon(true);
+				thread.start();
+			}
+		} catch (AsynchronousCloseException e) {
+			// The host was closed.
+		}
+	}
+
+	/**
+	 * Stops accepting flights, and removes the socket file. Flights already
+	 * being flown carry on until they disconnect.
+	 * @throws IOException If the socket can't be closed or removed.
+	 */
+	@Override
+	public void close() throws IOException {
+		serverChannel.close();
+		Files.deleteIfExists(path);
+	}
+
+	/**
+	 * A single flight.
+	 */
+	private static class Session {
+		private final SocketChannel channel;
+		private final GuidanceComputer guidance;
+		private final Rocket rocket;
+		private final GuidanceProtocol protocol;
+
+		/**
+		 * The simulation's time, as of the latest call.
+		 */
+		private double clock;
+		private final EventQueue scheduler = new EventQueue(() -> clock);
+
+		private final ByteBuffer request;
+		private final ByteBuffer response;
+		private final float[] before;
+		private final float[] changed;
+		private final float[] submitted;
+
+		Session(SocketChannel channel, GuidanceComputer guidance) {
+			this.channel = channel;
+			this.guidance = guidance;
+			this.rocket = new Rocket(guidance);
+			this.protocol = GuidanceProtocol.forRocket(rocket);
+			this.request = ByteBuffer.allocateDirect(protocol.getRequestSize()).order(GuidanceProtocol.BYTE_ORDER);
+			this.response = ByteBuffer.allocateDirect(protocol.getResponseSize()).order(GuidanceProtocol.BYTE_ORDER);
+			this.before = new float[rocket.getCommandBuffer().getFrameLength()];
+			this.changed = new float[before.length];
+			this.submitted = new float[before.length];
+		}
+
+		void run() {
+			try (channel) {
+				var hello = ByteBuffer.allocateDirect(GuidanceProtocol.HELLO_SIZE).order(GuidanceProtocol.BYTE_ORDER);
+				GuidanceProtocol.readFully(channel, hello);
+				protocol.checkHello(hello);
+				protocol.writeHello(hello);
+				GuidanceProtocol.writeFully(channel, hello);
+				while (true) {
+					GuidanceProtocol.readFully(channel, request);
+					handle();
+					GuidanceProtocol.writeFully(channel, response);
+				}
+			} catch (EOFException e) {
+				// The flight is over.
+			} catch (IOException e) {
+				System.err.println("Guidance host session failed: " + e.getMessage());
+			}
+		}
+
+		private void handle() {
+			int type = protocol.readType(request);
+			float t = protocol.readT(request);
+			protocol.readRequest(request, rocket);
+			clock = protocol.readClock(request);
+			copyThrusters(before);
+			try {
+				switch (type) {
+					case GuidanceProtocol.LAUNCH_SEQUENCE_START -> {
+						// Tasks from an earlier launch, which may have been
+						// aborted, mustn't run in this one.
+						scheduler.cancelAll();
+						guidance.launchSequenceStart(rocket, t, scheduler);
+					}
+					case GuidanceProtocol.LAUNCH -> guidance.launch(rocket);
+					case GuidanceProtocol.CONTROL_ROCKET -> guidance.controlRocket(rocket, t);
+					case GuidanceProtocol.HEARTBEAT -> {
+						// The heartbeat was scheduled for the next task, but
+						// may land a rounding error short of it.
+						double nextDue = scheduler.getNextDue();
+						if (Double.isFinite(nextDue)) clock = Math.max(clock, nextDue);
+						scheduler.runDue();
+					}
+					default -> throw new IllegalArgumentException("Unknown call type: " + type);
+				}
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+			copyThrusters(changed);
+			for (int i = 0; i < changed.length; i++) {
+				if (Float.compare(changed[i], before[i]) == 0) changed[i] = Float.NaN;
+			}
+			// Applying the submitted frame to the mirror is the only way to
+			// take it out of the buffer, and the next call overwrites the
+			// mirror's thrusters anyway.
+			var commands = rocket.getCommandBuffer();
+			boolean fresh = commands.apply();
+			if (fresh) commands.copyLastApplied(submitted);
+			protocol.writeResponse(response, type, protocol.readSequence(request), scheduler.getNextDue(), changed, fresh ? submitted : null);
+		}
+
+		/**
+		 * Copies the mirror's thruster settings into a command frame.
+		 */
+		private void copyThrusters(float[] out) {
+			for (int i = 0; i < rocket.getThrusterCount(); i++) {
+				var thruster = rocket.getThruster(i);
+				int offset = i * ThrusterCommandBuffer.STRIDE;
+				out[offset + ThrusterCommandBuffer.ACTIVE] = thruster.isActive() ? 1 : 0;
+				out[offset + ThrusterCommandBuffer.THROTTLE] = thruster.getThrottle();
+				out[offset + ThrusterCommandBuffer.GIMBAL] = thruster.getGimbal();
+			}
+		}
+	}
+}
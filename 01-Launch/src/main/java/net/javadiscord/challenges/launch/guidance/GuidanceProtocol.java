@@ -0,0 +1,277 @@
+package net.javadiscord.challenges.launch.guidance;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.ThrusterCommandBuffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ByteChannel;
+
+/**
+ * Describes the messages exchanged between a {@link RemoteGuidanceComputer}
+ * and a {@link GuidanceHost}. Once connected, each side sends a hello of
+ * {@link #HELLO_SIZE} bytes:
+ * <pre>
+ *  0  int     magic
+ *  4  int     version
+ *  8  int     thruster count
+ * 12  int     tank count
+ * </pre>
+ * Then, for every guidance call, the simulation sends a request, and the host
+ * sends back exactly one response, in the same order:
+ * <pre>
+ * Request:
+ *  0  int     call type
+ *  4  int     sequence number
+ *  8  double  simulated time, in seconds, for the host's scheduler
+ * 16  float   the call's time argument
+ * 20  float   position x, position y
+ * 28  float   velocity x, velocity y
+ * 36  float   orientation, angular velocity
+ * 44  long    bit mask of active thrusters, by thruster index
+ * 52  float   throttle and gimbal of each thruster, by thruster index
+ *  .. float   fuel stored in each tank, by tank index
+ *
+ * Response:
+ *  0  int     call type
+ *  4  int     sequence number
+ *  8  double  simulated time at which the host's next scheduled task is due
+ * 16  int     1 if the guidance computer submitted a frame, or else 0
+ * 20  float   a {@link ThrusterCommandBuffer} frame of the thruster settings
+ *             the guidance computer changed directly, to apply at once
+ *  .. float   the frame it submitted to its command buffer, if any, to
+ *             apply at the start of the next tick
+ * </pre>
+ * All values are little-endian, and every message of a kind has the same
+ * size, so both sides read and write them with preallocated buffers.
+ */
+@Getter
+class GuidanceProtocol {
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	static final int MAGIC = 0x43444E47; // "GNDC" in little-endian order.
+	static final int VERSION = 1;
+	static final int HELLO_SIZE = 16;
+	static final int MAX_THRUSTERS = Long.SIZE;
+
+	// Call types, in the same order as BudgetedGuidance's methods. A
+	// heartbeat asks the host to run its scheduled tasks which are due.
+	static final int LAUNCH_SEQUENCE_START = 0;
+	static final int LAUNCH = 1;
+	static final int CONTROL_ROCKET = 2;
+	static final int HEARTBEAT = 3;
+
+	private static final int TYPE = 0;
+	private static final int SEQUENCE = 4;
+	private static final int CLOCK = 8;
+	private static final int T = 16;
+	private static final int POSITION = 20;
+	private static final int VELOCITY = 28;
+	private static final int ORIENTATION = 36;
+	private static final int ANGULAR_VELOCITY = 40;
+	private static final int ACTIVE_MASK = 44;
+	private static final int THRUSTERS = 52;
+	private static final int NEXT_DUE = 8;
+	private static final int SUBMITTED = 16;
+	private static final int FRAMES = 20;
+
+	private final int thrusterCount;
+	private final int tankCount;
+	private final int requestSize;
+	private final int responseSize;
+	private final int frameLength;
+
+	GuidanceProtocol(int thrusterCount, int tankCount) {
+		if (thrusterCount > MAX_THRUSTERS) {
+			throw new IllegalArgumentException("At most " + MAX_THRUSTERS + " thrusters can be controlled remotely.");
+		}
+		this.thrusterCount = thrusterCount;
+		this.tankCount = tankCount;
+		this.requestSize = THRUSTERS + thrusterCount * 2 * Float.BYTES + tankCount * Float.BYTES;
+		this.frameLength = thrusterCount * ThrusterCommandBuffer.STRIDE;
+		this.responseSize = FRAMES + 2 * frameLength * Float.BYTES;
+	}
+
+	static GuidanceProtocol forRocket(Rocket rocket) {
+		return new GuidanceProtocol(rocket.getThrusterCount(), rocket.getFuelTankCount());
+	}
+
+	void writeHello(ByteBuffer buffer) {
+		buffer.clear();
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(thrusterCount).putInt(tankCount);
+		buffer.flip();
+	}
+
+	/**
+	 * Checks that the other side's hello matches this protocol.
+	 * @param buffer The hello received.
+	 * @throws IOException If it doesn't match.
+	 */
+	void checkHello(ByteBuffer buffer) throws IOException {
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("The other side doesn't speak this guidance protocol.");
+		}
+		if (buffer.getInt(8) != thrusterCount || buffer.getInt(12) != tankCount) {
+			throw new IOException(String.format("Expected a rocket with %d thrusters and %d tanks, but the other side has %d and %d.",
+					thrusterCount, tankCount, buffer.getInt(8), buffer.getInt(12)));
+		}
+	}
+
+	/**
+	 * Writes a request with the rocket's current state.
+	 * @param buffer The buffer to write to, of {@link #requestSize} bytes.
+	 */
+	void writeRequest(ByteBuffer buffer, int type, int sequence, double clock, float t, Rocket rocket) {
+		buffer.clear();
+		buffer.putInt(TYPE, type);
+		buffer.putInt(SEQUENCE, sequence);
+		buffer.putDouble(CLOCK, clock);
+		buffer.putFloat(T, t);
+		buffer.putFloat(POSITION, rocket.getPosition().x);
+		buffer.putFloat(POSITION + 4, rocket.getPosition().y);
+		buffer.putFloat(VELOCITY, rocket.getVelocity().x);
+		buffer.putFloat(VELOCITY + 4, rocket.getVelocity().y);
+		buffer.putFloat(ORIENTATION, rocket.getOrientation());
+		buffer.putFloat(ANGULAR_VELOCITY, rocket.getAngularVelocity());
+		long activeMask = 0;
+		int position = THRUSTERS;
+		for (int i = 0; i < thrusterCount; i++) {
+			var thruster = rocket.getThruster(i);
+			if (thruster.isActive()) activeMask |= 1L << i;
+			buffer.putFloat(position, thruster.getThrottle());
+			buffer.putFloat(position + 4, thruster.getGimbal());
+			position += 2 * Float.BYTES;
+		}
+		buffer.putLong(ACTIVE_MASK, activeMask);
+		for (int i = 0; i < tankCount; i++) {
+			buffer.putFloat(position, rocket.getFuelTank(i).getStored());
+			position += Float.BYTES;
+		}
+	}
+
+	/**
+	 * Applies the state in a request to a rocket.
+	 * @param buffer The request.
+	 * @param rocket The rocket to apply it to.
+	 */
+	void readRequest(ByteBuffer buffer, Rocket rocket) {
+		rocket.getPosition().x = buffer.getFloat(POSITION);
+		rocket.getPosition().y = buffer.getFloat(POSITION + 4);
+		rocket.getVelocity().x = buffer.getFloat(VELOCITY);
+		rocket.getVelocity().y = buffer.getFloat(VELOCITY + 4);
+		rocket.setOrientation(buffer.getFloat(ORIENTATION));
+		rocket.setAngularVelocity(buffer.getFloat(ANGULAR_VELOCITY));
+		long activeMask = buffer.getLong(ACTIVE_MASK);
+		int position = THRUSTERS;
+		for (int i = 0; i < thrusterCount; i++) {
+			var thruster = rocket.getThruster(i);
+			thruster.setActive((activeMask & (1L << i)) != 0);
+			thruster.setThrottle(buffer.getFloat(position));
+			thruster.setGimbal(buffer.getFloat(position + 4));
+			position += 2 * Float.BYTES;
+		}
+		for (int i = 0; i < tankCount; i++) {
+			rocket.getFuelTank(i).setStored(buffer.getFloat(position));
+			position += Float.BYTES;
+		}
+	}
+
+	/**
+	 * Writes a response.
+	 * @param buffer The buffer to write to, of {@link #responseSize} bytes.
+	 * @param changed The settings changed directly, in the layout of a
+	 *                {@link ThrusterCommandBuffer} frame.
+	 * @param submitted The frame submitted, or null if there wasn't one.
+	 */
+	void writeResponse(ByteBuffer buffer, int type, int sequence, double nextDue, float[] changed, float[] submitted) {
+		buffer.clear();
+		buffer.putInt(TYPE, type);
+		buffer.putInt(SEQUENCE, sequence);
+		buffer.putDouble(NEXT_DUE, nextDue);
+		buffer.putInt(SUBMITTED, submitted == null ? 0 : 1);
+		writeFrame(buffer, FRAMES, changed);
+		if (submitted != null) writeFrame(buffer, FRAMES + frameLength * Float.BYTES, submitted);
+	}
+
+	/**
+	 * Reads the settings changed directly in a response.
+	 * @param buffer The response.
+	 * @param frame The array to read them into.
+	 */
+	void readChanged(ByteBuffer buffer, float[] frame) {
+		readFrame(buffer, FRAMES, frame);
+	}
+
+	/**
+	 * Reads the frame submitted in a response.
+	 * @param buffer The response.
+	 * @param frame The array to read it into.
+	 * @return False if no frame was submitted.
+	 */
+	boolean readSubmitted(ByteBuffer buffer, float[] frame) {
+		if (buffer.getInt(SUBMITTED) == 0) return false;
+		readFrame(buffer, FRAMES + frameLength * Float.BYTES, frame);
+		return true;
+	}
+
+	private void writeFrame(ByteBuffer buffer, int offset, float[] frame) {
+		for (int i = 0; i < frameLength; i++) {
+			buffer.putFloat(offset + i * Float.BYTES, frame[i]);
+		}
+	}
+
+	private void readFrame(ByteBuffer buffer, int offset, float[] frame) {
+		for (int i = 0; i < frameLength; i++) {
+			frame[i] = buffer.getFloat(offset + i * Float.BYTES);
+		}
+	}
+
+	int readType(ByteBuffer buffer) {
+		return buffer.getInt(TYPE);
+	}
+
+	int readSequence(ByteBuffer buffer) {
+		return buffer.getInt(SEQUENCE);
+	}
+
+	double readClock(ByteBuffer buffer) {
+		return buffer.getDouble(CLOCK);
+	}
+
+	float readT(ByteBuffer buffer) {
+		return buffer.getFloat(T);
+	}
+
+	double readNextDue(ByteBuffer buffer) {
+		return buffer.getDouble(NEXT_DUE);
+	}
+
+	/**
+	 * Reads a whole message from a blocking channel.
+	 * @param channel The channel to read from.
+	 * @param buffer The buffer to read into, which is filled to its capacity.
+	 * @throws EOFException If the channel reaches its end first.
+	 * @throws IOException If the channel can't be read.
+	 */
+	static void readFully(ByteChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.clear();
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) throw new EOFException("The other side disconnected.");
+		}
+		buffer.flip();
+	}
+
+	/**
+	 * Writes a whole message to a blocking channel.
+	 * @param channel The channel to write to.
+	 * @param buffer The buffer to write, from its position to its limit.
+	 * @throws IOException If the channel can't be written.
+	 */
+	static void writeFully(ByteChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package net.javadiscord.challenges.launch.guidance;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of latencies, in nanoseconds, with log-linear buckets: each
+ * power of two is split into 16 linear sub-buckets, so every recorded value
+ * is known to within about 6%. Recording is a single array increment, so it
+ * can be done on hot paths. It should only be recorded to from one thread at
+ * a time, but can be read from any thread.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final long[] counts = new long[BUCKETS];
+	private long count;
+	private long total;
+	private long max;
+
+	/**
+	 * Records a single latency.
+	 * @param nanos The latency, in nanoseconds.
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) nanos = 0;
+		counts[bucketOf(nanos)]++;
+		count++;
+		total += nanos;
+		if (nanos > max) max = nanos;
+	}
+
+	private static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) return (int) value;
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Gets the highest value that falls into the given bucket.
+	 */
+	private static long highestValueOf(int bucket) {
+		if (bucket < SUB_BUCKETS) return bucket;
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return count == 0 ? 0 : (double) total / count;
+	}
+
+	/**
+	 * Gets the value at the given percentile.
+	 * @param percentile The percentile, between 0 and 100.
+	 * @return The value, in nanoseconds, which the given percentage of
+	 * recorded values are less than or equal to.
+	 */
+	public long getPercentile(double percentile) {
+		if (count == 0) return 0;
+		long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= target) return Math.min(highestValueOf(i), max);
+		}
+		return max;
+	}
+
+	public void reset() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		total = 0;
+		max = 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("n = %d, p50 = %.1f us, p99 = %.1f us, max = %.1f us",
+				count, getPercentile(50) / 1000.0, getPercentile(99) / 1000.0, max / 1000.0);
+	}
+}
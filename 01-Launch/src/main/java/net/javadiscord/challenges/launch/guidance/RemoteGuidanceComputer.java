@@ -0,0 +1,272 @@
+package net.javadiscord.challenges.launch.guidance;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.Scheduler;
+import net.javadiscord.challenges.launch.model.Rocket;
+import net.javadiscord.challenges.launch.model.ThrusterCommandBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * A guidance computer which runs in another process, such as one written in
+ * another language, or one kept apart from the simulation so that it can't
+ * touch anything but its commands. Every call is forwarded over a Unix domain
+ * socket to a {@link GuidanceHost}, along with the rocket's state, and the
+ * host replies with the thruster settings its guidance computer changed,
+ * which are applied at once, and any frame it submitted to its command
+ * buffer, which is submitted to the rocket's. See
+ * {@link GuidanceProtocol} for the messages. Everything is sent and received
+ * through buffers allocated when the connection is made, so a call allocates
+ * nothing, and costs a round trip of a few tens of microseconds.
+ * <p>
+ *     The host runs the remote guidance computer's scheduled tasks with its
+ *     own scheduler, and tells this side when the next one is due. This side
+ *     schedules a heartbeat for then in the simulation's scheduler, which
+ *     asks the host to run the tasks, so they happen at exactly the same
+ *     point in the flight as if the guidance computer were local.
+ * </p>
+ * <p>
+ *     With a pipeline depth of 0, every call waits for its reply, so a flight
+ *     is the same as with the guidance computer in this process. For headless
+ *     runs, where throughput matters more, a pipeline depth of d lets
+ *     {@link #controlRocket(Rocket, float)} send each tick's state without
+ *     waiting, and only apply the reply to the call made d ticks earlier, so
+ *     the simulation and the guidance computer run at the same time, and the
+ *     commands take effect d ticks late. The launch calls and heartbeats
+ *     always wait for every outstanding reply first, and then for their own.
+ * </p>
+ */
+public class RemoteGuidanceComputer implements GuidanceComputer, Closeable {
+	private final SocketChannel channel;
+
+	/**
+	 * The number of {@link #controlRocket(Rocket, float)} calls which may be
+	 * waiting for their replies.
+	 */
+	@Getter
+	private final int pipelineDepth;
+
+	/**
+	 * The time from sending each call to receiving its reply.
+	 */
+	@Getter
+	private final LatencyHistogram roundTripLatency = new LatencyHistogram();
+
+	// Set up when the first call is made, since that's when the rocket's
+	// layout is known.
+	private GuidanceProtocol protocol;
+	private ByteBuffer request;
+	private ByteBuffer response;
+	private float[] frame;
+	private boolean closed;
+
+	/**
+	 * The time each outstanding call was sent, indexed by its sequence number
+	 * modulo the length.
+	 */
+	private final long[] sentAt;
+	private long sent;
+	private long received;
+
+	private Rocket rocket;
+	private Scheduler scheduler;
+	private final Runnable heartbeatTask = this::heartbeat;
+	private Scheduler.Task heartbeat;
+	private double heartbeatDue = Double.POSITIVE_INFINITY;
+	private boolean heartbeatsStopped;
+
+	private RemoteGuidanceComputer(SocketChannel channel, int pipelineDepth) {
+		this.channel = channel;
+		this.pipelineDepth = pipelineDepth;
+		this.sentAt = new long[pipelineDepth + 1];
+	}
+
+	/**
+	 * Connects to a guidance host.
+	 * @param path The path of the host's socket.
+	 * @param pipelineDepth The number of calls to send ahead of their
+	 *                      replies, or 0 to wait for every reply.
+	 * @return The guidance computer.
+	 * @throws IOException If the host can't be reached.
+	 */
+	public static RemoteGuidanceComputer connect(Path path, int pipelineDepth) throws IOException {
+		if (pipelineDepth < 0) throw new IllegalArgumentException("The pipeline depth must not be negative.");
+		var channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			channel.connect(UnixDomainSocketAddress.of(path));
+			return new RemoteGuidanceComputer(channel, pipelineDepth);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public void launchSequenceStart(Rocket rocket, float t) {
+		launchSequenceStart(rocket, t, null);
+	}
+
+	@Override
+	public void launchSequenceStart(Rocket rocket, float t, Scheduler scheduler) {
+		this.rocket = rocket;
+		this.scheduler = scheduler;
+		// A new launch, perhaps after an abort, starts with no heartbeat, and
+		// the host drops its old tasks.
+		if (heartbeat != null) heartbeat.cancel();
+		heartbeat = null;
+		heartbeatDue = Double.POSITIVE_INFINITY;
+		heartbeatsStopped = false;
+		call(GuidanceProtocol.LAUNCH_SEQUENCE_START, t);
+	}
+
+	@Override
+	public void launch(Rocket rocket) {
+		this.rocket = rocket;
+		call(GuidanceProtocol.LAUNCH, 0);
+	}
+
+	@Override
+	public void controlRocket(Rocket rocket, float t) {
+		this.rocket = rocket;
+		if (pipelineDepth == 0) {
+			call(GuidanceProtocol.CONTROL_ROCKET, t);
+			return;
+		}
+		try {
+			send(GuidanceProtocol.CONTROL_ROCKET, t);
+			if (sent - received > pipelineDepth) receive();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void heartbeat() {
+		heartbeat = null;
+		heartbeatDue = Double.POSITIVE_INFINITY;
+		call(GuidanceProtocol.HEARTBEAT, 0);
+	}
+
+	/**
+	 * Makes a call and waits for its reply, after any outstanding ones.
+	 */
+	private void call(int type, float t) {
+		try {
+			send(type, t);
+			while (received != sent) receive();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void send(int type, float t) throws IOException {
+		if (protocol == null) handshake();
+		double clock = scheduler == null ? 0 : scheduler.getTime();
+		// The protocol's sequence numbers are the low 32 bits of the count,
+		// which is plenty to tell the outstanding replies apart.
+		protocol.writeRequest(request, type, (int) sent, clock, t, rocket);
+		sentAt[(int) (sent % sentAt.length)] = System.nanoTime();
+		GuidanceProtocol.writeFully(channel, request);
+		sent++;
+	}
+
+	/**
+	 * Receives the oldest outstanding reply, and applies its commands.
+	 */
+	private void receive() throws IOException {
+		GuidanceProtocol.readFully(channel, response);
+		long now = System.nanoTime();
+		if (protocol.readSequence(response) != (int) received) {
+			throw new IOException("Expected the reply to call " + received + ", but got " + protocol.readSequence(response));
+		}
+		roundTripLatency.record(now - sentAt[(int) (received % sentAt.length)]);
+		received++;
+		// This is the physics thread, so the settings can be changed now,
+		// just as a local guidance computer would have changed them.
+		protocol.readChanged(response, frame);
+		for (int i = 0; i < rocket.getThrusterCount(); i++) {
+			var thruster = rocket.getThruster(i);
+			int offset = i * ThrusterCommandBuffer.STRIDE;
+			float active = frame[offset + ThrusterCommandBuffer.ACTIVE];
+			if (active == 0 || active == 1) thruster.setActive(active == 1);
+			float throttle = frame[offset + ThrusterCommandBuffer.THROTTLE];
+			if (Float.isFinite(throttle)) thruster.setThrottle(throttle);
+			float gimbal = frame[offset + ThrusterCommandBuffer.GIMBAL];
+			if (Float.isFinite(gimbal)) thruster.setGimbal(gimbal);
+		}
+		if (protocol.readSubmitted(response, frame)) {
+			var commands = rocket.getCommandBuffer();
+			commands.write(frame);
+			commands.submit();
+		}
+		scheduleHeartbeat(protocol.readNextDue(response));
+	}
+
+	/**
+	 * Makes sure that a heartbeat is scheduled for when the host's next task
+	 * is due.
+	 */
+	private void scheduleHeartbeat(double nextDue) {
+		if (scheduler == null || heartbeatsStopped) return;
+		if (heartbeat != null && heartbeat.isCancelled()) {
+			// Someone else cancelled it, because the launch was aborted, so
+			// the remote tasks mustn't run any more either.
+			heartbeatsStopped = true;
+			return;
+		}
+		if (nextDue == heartbeatDue) return;
+		if (heartbeat != null) heartbeat.cancel();
+		heartbeat = null;
+		heartbeatDue = nextDue;
+		if (Double.isFinite(nextDue)) {
+			heartbeat = scheduler.schedule(Math.max(0, nextDue - scheduler.getTime()), heartbeatTask);
+		}
+	}
+
+	private void handshake() throws IOException {
+		var candidate = GuidanceProtocol.forRocket(rocket);
+		var hello = ByteBuffer.allocateDirect(GuidanceProtocol.HELLO_SIZE).order(GuidanceProtocol.BYTE_ORDER);
+		candidate.writeHello(hello);
+		GuidanceProtocol.writeFully(channel, hello);
+		GuidanceProtocol.readFully(channel, hello);
+		candidate.checkHello(hello);
+		this.request = ByteBuffer.allocateDirect(candidate.getRequestSize()).order(GuidanceProtocol.BYTE_ORDER);
+		this.response = ByteBuffer.allocateDirect(candidate.getResponseSize()).order(GuidanceProtocol.BYTE_ORDER);
+		this.frame = new float[rocket.getCommandBuffer().getFrameLength()];
+		this.protocol = candidate;
+	}
+
+	/**
+	 * Gets a human-readable report of the round trips to the host.
+	 * @return The report.
+	 */
+	public String getReport() {
+		return String.format("Remote guidance round trips (pipeline depth %d): %s%n", pipelineDepth, roundTripLatency);
+	}
+
+	/**
+	 * Disconnects from the host, which ends the flight there. Any outstanding
+	 * replies are waited for, but not applied.
+	 * @throws IOException If the socket can't be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) return;
+		closed = true;
+		try (channel) {
+			if (protocol != null) {
+				channel.shutdownOutput();
+				for (; received != sent; received++) {
+					GuidanceProtocol.readFully(channel, response);
+				}
+			}
+		}
+	}
+}
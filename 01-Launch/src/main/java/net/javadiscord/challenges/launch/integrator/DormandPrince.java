@@ -0,0 +1,162 @@
+package net.javadiscord.challenges.launch.integrator;
+
+import lombok.Getter;
+
+/**
+ * The adaptive Dormand-Prince 5(4) method. Each tick is covered by as many
+ * fifth-order sub-steps as it takes to keep the local error, estimated from
+ * the embedded fourth-order solution, within the tolerances. The sub-step
+ * size carries over between ticks, so smooth flight takes one sub-step per
+ * tick, and only sudden changes, like an engine lighting, are refined.
+ */
+public class DormandPrince implements Integrator {
+	public static final double DEFAULT_ABSOLUTE_TOLERANCE = 1e-6;
+	public static final double DEFAULT_RELATIVE_TOLERANCE = 1e-9;
+
+	private static final double[][] A = {
+			{},
+			{1.0 / 5},
+			{3.0 / 40, 9.0 / 40},
+			{44.0 / 45, -56.0 / 15, 32.0 / 9},
+			{19372.0 / 6561, -25360.0 / 2187, 64448.0 / 6561, -212.0 / 729},
+			{9017.0 / 3168, -355.0 / 33, 46732.0 / 5247, 49.0 / 176, -5103.0 / 18656},
+			{35.0 / 384, 0, 500.0 / 1113, 125.0 / 192, -2187.0 / 6784, 11.0 / 84}
+	};
+
+	/**
+	 * The difference between the fifth and fourth order weights.
+	 */
+	private static final double[] E = {71.0 / 57600, 0, -71.0 / 16695, 71.0 / 1920, -17253.0 / 339200, 22.0 / 525, -1.0 / 40};
+
+	private static final double SAFETY = 0.9;
+	private static final double MIN_FACTOR = 0.2;
+	private static final double MAX_FACTOR = 5.0;
+
+	/**
+	 * The smallest sub-step, as a fraction of the tick. Sub-steps this small
+	 * are accepted regardless of their error, so a tick always finishes.
+	 */
+	private static final double MIN_STEP_FRACTION = 1e-6;
+
+	private final double absoluteTolerance;
+	private final double relativeTolerance;
+
+	private final RocketState[] k = new RocketState[7];
+	private final RocketState trial = new RocketState();
+	private final RocketState error = new RocketState();
+
+	/**
+	 * The sub-step size proposed for the next tick, or 0 before the first.
+	 */
+	private double step;
+
+	/**
+	 * The number of sub-steps accepted and rejected so far.
+	 */
+	@Getter
+	private long acceptedSteps;
+	@Getter
+	private long rejectedSteps;
+
+	public DormandPrince() {
+		this(DEFAULT_ABSOLUTE_TOLERANCE, DEFAULT_RELATIVE_TOLERANCE);
+	}
+
+	/**
+	 * @param absoluteTolerance The error allowed in each state component.
+	 * @param relativeTolerance The error allowed in each state component,
+	 *                          relative to its magnitude.
+	 */
+	public DormandPrince(double absoluteTolerance, double relativeTolerance) {
+		this.absoluteTolerance = absoluteTolerance;
+		this.relativeTolerance = relativeTolerance;
+		for (int i = 0; i < k.length; i++) {
+			k[i] = new RocketState();
+		}
+	}
+
+	@Override
+	public void step(Dynamics dynamics, RocketState state, double dt) {
+		double remaining = dt;
+		double h = step > 0 ? step : dt;
+		double minStep = dt * MIN_STEP_FRACTION;
+		dynamics.derivative(state, k[0]);
+		while (remaining > 0) {
+			boolean last = h >= remaining;
+			double hs = last ? remaining : h;
+			for (int stage = 1; stage < 7; stage++) {
+				combine(trial, state, hs, A[stage], stage);
+				dynamics.derivative(trial, k[stage]);
+			}
+			// The last stage is evaluated at the fifth-order solution, in trial.
+			combine(error, null, hs, E, 7);
+			double norm = errorNorm(state, trial);
+			double factor = norm == 0 ? MAX_FACTOR : Math.min(MAX_FACTOR, Math.max(MIN_FACTOR, SAFETY * Math.pow(norm, -0.2)));
+			if (norm <= 1.0 || hs <= minStep) {
+				acceptedSteps++;
+				state.set(trial);
+				remaining = last ? 0 : remaining - hs;
+				// First same as last: the final stage is the next step's first.
+				var swap = k[0];
+				k[0] = k[6];
+				k[6] = swap;
+				// A step cut short to end the tick says little about the next.
+				h = hs < h ? Math.max(h, hs * factor) : hs * factor;
+			} else {
+				rejectedSteps++;
+				h = Math.max(minStep, hs * factor);
+			}
+		}
+		step = h;
+		dynamics.applyImpulses(state);
+	}
+
+	/**
+	 * Sets out to base plus a weighted sum of the first stages' derivatives.
+	 * If base is null, only the weighted sum is computed.
+	 */
+	private void combine(RocketState out, RocketState base, double h, double[] weights, int stages) {
+		double px = 0, py = 0, vx = 0, vy = 0, theta = 0, omega = 0;
+		for (int i = 0; i < stages; i++) {
+			double w = weights[i] * h;
+			if (w == 0) continue;
+			px += w * k[i].px;
+			py += w * k[i].py;
+			vx += w * k[i].vx;
+			vy += w * k[i].vy;
+			theta += w * k[i].theta;
+			omega += w * k[i].omega;
+		}
+		if (base == null) {
+			out.px = px;
+			out.py = py;
+			out.vx = vx;
+			out.vy = vy;
+			out.theta = theta;
+			out.omega = omega;
+		} else {
+			out.px = base.px + px;
+			out.py = base.py + py;
+			out.vx = base.vx + vx;
+			out.vy = base.vy + vy;
+			out.theta = base.theta + theta;
+			out.omega = base.omega + omega;
+		}
+	}
+
+	/**
+	 * Gets the largest error of any component, relative to its tolerance.
+	 */
+	private double errorNorm(RocketState from, RocketState to) {
+		double norm = scaled(error.px, from.px, to.px);
+		norm = Math.max(norm, scaled(error.py, from.py, to.py));
+		norm = Math.max(norm, scaled(error.vx, from.vx, to.vx));
+		norm = Math.max(norm, scaled(error.vy, from.vy, to.vy));
+		norm = Math.max(norm, scaled(error.theta, from.theta, to.theta));
+		return Math.max(norm, scaled(error.omega, from.omega, to.omega));
+	}
+
+	private double scaled(double error, double from, double to) {
+		return Math.abs(error) / (absoluteTolerance + relativeTolerance * Math.max(Math.abs(from), Math.abs(to)));
+	}
+}
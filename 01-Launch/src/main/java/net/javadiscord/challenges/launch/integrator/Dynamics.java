@@ -0,0 +1,22 @@
+package net.javadiscord.challenges.launch.integrator;
+
+/**
+ * The equations of motion that an {@link Integrator} solves.
+ */
+public interface Dynamics {
+	/**
+	 * Computes the rate of change of a state. This must not change anything,
+	 * since integrators may evaluate it at any number of trial states.
+	 * @param state The state.
+	 * @param out The derivative to write to.
+	 */
+	void derivative(RocketState state, RocketState out);
+
+	/**
+	 * Applies any instantaneous changes to the velocities, like random
+	 * turbulence, which aren't part of the smooth equations of motion.
+	 * Integrators call this exactly once per step.
+	 * @param state The state to change.
+	 */
+	void applyImpulses(RocketState state);
+}
@@ -0,0 +1,35 @@
+package net.javadiscord.challenges.launch.integrator;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * A numerical method for advancing a rocket's state over one physics tick.
+ * Integrators keep preallocated scratch state, and some keep state between
+ * steps, so each physics engine needs its own instance.
+ */
+public interface Integrator {
+	/**
+	 * Advances the state by one tick.
+	 * @param dynamics The equations of motion.
+	 * @param state The state to advance, in place.
+	 * @param dt The length of the tick, in seconds.
+	 */
+	void step(Dynamics dynamics, RocketState state, double dt);
+
+	/**
+	 * Gets a factory for an integrator by its name, which is one of "euler",
+	 * "verlet", "rk4" or "adaptive".
+	 * @param name The name of the integrator.
+	 * @return A factory for new instances of it.
+	 */
+	static Supplier<Integrator> forName(String name) {
+		return switch (name.toLowerCase(Locale.ROOT)) {
+			case "euler" -> SemiImplicitEuler::new;
+			case "verlet" -> VelocityVerlet::new;
+			case "rk4" -> RungeKutta4::new;
+			case "adaptive" -> DormandPrince::new;
+			default -> throw new IllegalArgumentException("Unknown integrator: " + name);
+		};
+	}
+}
@@ -0,0 +1,61 @@
+package net.javadiscord.challenges.launch.integrator;
+
+/**
+ * The continuous state of a rocket's motion, in double precision, which
+ * integrators advance. The same class holds a state's derivative, where each
+ * field is the rate of change of the corresponding state field.
+ */
+public class RocketState {
+	/**
+	 * Position, where x is longitude in meters, and y is altitude in meters.
+	 */
+	public double px, py;
+
+	/**
+	 * Velocity, in m/s.
+	 */
+	public double vx, vy;
+
+	/**
+	 * Orientation, in radians.
+	 */
+	public double theta;
+
+	/**
+	 * Angular velocity, in radians per second.
+	 */
+	public double omega;
+
+	public void set(RocketState other) {
+		px = other.px;
+		py = other.py;
+		vx = other.vx;
+		vy = other.vy;
+		theta = other.theta;
+		omega = other.omega;
+	}
+
+	/**
+	 * Sets this to another state advanced along a derivative.
+	 * @param base The state to start from.
+	 * @param derivative The derivative to follow.
+	 * @param h The amount of time to follow it for, in seconds.
+	 */
+	public void setAdvanced(RocketState base, RocketState derivative, double h) {
+		px = base.px + derivative.px * h;
+		py = base.py + derivative.py * h;
+		vx = base.vx + derivative.vx * h;
+		vy = base.vy + derivative.vy * h;
+		theta = base.theta + derivative.theta * h;
+		omega = base.omega + derivative.omega * h;
+	}
+
+	/**
+	 * Adds a derivative to this state.
+	 * @param derivative The derivative to follow.
+	 * @param h The amount of time to follow it for, in seconds.
+	 */
+	public void advance(RocketState derivative, double h) {
+		setAdvanced(this, derivative, h);
+	}
+}
@@ -0,0 +1,32 @@
+package net.javadiscord.challenges.launch.integrator;
+
+/**
+ * The classic fourth-order Runge-Kutta method.
+ */
+public class RungeKutta4 implements Integrator {
+	private final RocketState k1 = new RocketState();
+	private final RocketState k2 = new RocketState();
+	private final RocketState k3 = new RocketState();
+	private final RocketState k4 = new RocketState();
+	private final RocketState trial = new RocketState();
+
+	@Override
+	public void step(Dynamics dynamics, RocketState state, double dt) {
+		dynamics.derivative(state, k1);
+		trial.setAdvanced(state, k1, dt / 2);
+		dynamics.derivative(trial, k2);
+		trial.setAdvanced(state, k2, dt / 2);
+		dynamics.derivative(trial, k3);
+		trial.setAdvanced(state, k3, dt);
+		dynamics.derivative(trial, k4);
+
+		double h = dt / 6;
+		state.px += h * (k1.px + 2 * k2.px + 2 * k3.px + k4.px);
+		state.py += h * (k1.py + 2 * k2.py + 2 * k3.py + k4.py);
+		state.vx += h * (k1.vx + 2 * k2.vx + 2 * k3.vx + k4.vx);
+		state.vy += h * (k1.vy + 2 * k2.vy + 2 * k3.vy + k4.vy);
+		state.theta += h * (k1.theta + 2 * k2.theta + 2 * k3.theta + k4.theta);
+		state.omega += h * (k1.omega + 2 * k2.omega + 2 * k3.omega + k4.omega);
+		dynamics.applyImpulses(state);
+	}
+}
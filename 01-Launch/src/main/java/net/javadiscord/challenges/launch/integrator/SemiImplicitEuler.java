@@ -0,0 +1,22 @@
+package net.javadiscord.challenges.launch.integrator;
+
+/**
+ * First-order semi-implicit (symplectic) Euler: the velocities are updated
+ * first, and the positions are then moved with the new velocities. This is
+ * the default, and matches how the physics have always been integrated.
+ */
+public class SemiImplicitEuler implements Integrator {
+	private final RocketState derivative = new RocketState();
+
+	@Override
+	public void step(Dynamics dynamics, RocketState state, double dt) {
+		dynamics.derivative(state, derivative);
+		state.vx += derivative.vx * dt;
+		state.vy += derivative.vy * dt;
+		state.omega += derivative.omega * dt;
+		dynamics.applyImpulses(state);
+		state.px += state.vx * dt;
+		state.py += state.vy * dt;
+		state.theta += state.omega * dt;
+	}
+}
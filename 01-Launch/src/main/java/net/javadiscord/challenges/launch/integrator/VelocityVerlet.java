@@ -0,0 +1,30 @@
+package net.javadiscord.challenges.launch.integrator;
+
+/**
+ * Second-order velocity Verlet. Since gravity depends on the longitudinal
+ * velocity, the acceleration at the end of the step is evaluated with a
+ * first-order estimate of the new velocity.
+ */
+public class VelocityVerlet implements Integrator {
+	private final RocketState a0 = new RocketState();
+	private final RocketState a1 = new RocketState();
+	private final RocketState next = new RocketState();
+
+	@Override
+	public void step(Dynamics dynamics, RocketState state, double dt) {
+		dynamics.derivative(state, a0);
+		double halfDt2 = 0.5 * dt * dt;
+		next.px = state.px + state.vx * dt + a0.vx * halfDt2;
+		next.py = state.py + state.vy * dt + a0.vy * halfDt2;
+		next.theta = state.theta + state.omega * dt + a0.omega * halfDt2;
+		next.vx = state.vx + a0.vx * dt;
+		next.vy = state.vy + a0.vy * dt;
+		next.omega = state.omega + a0.omega * dt;
+		dynamics.derivative(next, a1);
+		next.vx = state.vx + 0.5 * (a0.vx + a1.vx) * dt;
+		next.vy = state.vy + 0.5 * (a0.vy + a1.vy) * dt;
+		next.omega = state.omega + 0.5 * (a0.omega + a1.omega) * dt;
+		state.set(next);
+		dynamics.applyImpulses(state);
+	}
+}
@@ -0,0 +1,179 @@
+package net.javadiscord.challenges.launch.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The atmospheric density and acceleration due to gravity at every altitude,
+ * tabulated at evenly spaced altitudes and linearly interpolated in between.
+ * A lookup is a multiplication, an array index and a blend, however
+ * expensive the profile was to compute. Below the bottom of the table, and
+ * above the top, the values at the nearest end are used.
+ * <p>
+ *     Densities are relative to ground level, so they're normalized by the
+ *     density of the first row when a table is loaded, and can be given in
+ *     any units, such as kg/m^3 from a standard atmosphere.
+ * </p>
+ */
+public class AtmosphereTable {
+	/**
+	 * The most entries a resampled table may have.
+	 */
+	private static final int MAX_ENTRIES = 1 << 20;
+
+	/**
+	 * The simulation's original atmosphere, in which density falls
+	 * quadratically from 1 at ground level to 0 at the Karman line, and
+	 * gravity is constant.
+	 */
+	public static final AtmosphereTable DEFAULT = of(
+			h -> Math.pow((GameModel.KARMAN_LINE - h) / GameModel.KARMAN_LINE, 2),
+			h -> GameModel.G,
+			GameModel.KARMAN_LINE,
+			100.0f
+	);
+
+	private final float base;
+	private final float step;
+	private final float inverseStep;
+	private final float[] density;
+	private final float[] gravity;
+
+	/**
+	 * @param base The altitude of the first entry, in meters.
+	 * @param step The altitude between entries, in meters.
+	 * @param density The density at each entry.
+	 * @param gravity The acceleration due to gravity at each entry, in m/s^2.
+	 */
+	public AtmosphereTable(float base, float step, float[] density, float[] gravity) {
+		if (!(step > 0)) throw new IllegalArgumentException("Step must be positive.");
+		if (density.length == 0 || density.length != gravity.length) {
+			throw new IllegalArgumentException("Density and gravity must have the same, non-zero number of entries.");
+		}
+		this.base = base;
+		this.step = step;
+		this.inverseStep = 1.0f / step;
+		this.density = density.clone();
+		this.gravity = gravity.clone();
+	}
+
+	/**
+	 * Tabulates a profile given as functions of altitude, from ground level
+	 * up to a given altitude.
+	 * @param density The density at an altitude in meters.
+	 * @param gravity The acceleration due to gravity at an altitude in meters.
+	 * @param top The altitude of the last entry, in meters.
+	 * @param step The altitude between entries, in meters.
+	 * @return The table.
+	 */
+	public static AtmosphereTable of(DoubleUnaryOperator density, DoubleUnaryOperator gravity, float top, float step) {
+		int entries = (int) Math.ceil(top / step) + 1;
+		// Spread the entries evenly, so that the last is exactly at the top.
+		double spacing = entries > 1 ? top / (entries - 1.0) : 1;
+		float[] d = new float[entries];
+		float[] g = new float[entries];
+		for (int i = 0; i < entries; i++) {
+			double altitude = i * spacing;
+			d[i] = (float) density.applyAsDouble(altitude);
+			g[i] = (float) gravity.applyAsDouble(altitude);
+		}
+		return new AtmosphereTable(0, (float) spacing, d, g);
+	}
+
+	/**
+	 * Loads a profile from a CSV file, with a row for each altitude in
+	 * ascending order, and the columns altitude in meters, density, and
+	 * optionally the acceleration due to gravity in m/s^2, which is
+	 * {@link GameModel#G} if it's left out. Blank lines, lines starting with
+	 * '#', and a header line are skipped. The rows don't need to be evenly
+	 * spaced, since they're resampled at the smallest spacing between any
+	 * two of them.
+	 * @param path The path of the file.
+	 * @return The table.
+	 * @throws IOException If the file can't be read.
+	 */
+	public static AtmosphereTable load(Path path) throws IOException {
+		List<float[]> rows = new ArrayList<>();
+		for (var line : Files.readAllLines(path)) {
+			line = line.strip();
+			if (line.isEmpty() || line.startsWith("#")) continue;
+			String[] columns = line.split("\\s*,\\s*");
+			if (rows.isEmpty() && !Character.isDigit(columns[0].charAt(columns[0].length() - 1))) continue;
+			if (columns.length < 2) throw new IllegalArgumentException("Expected at least an altitude and a density in: " + line);
+			rows.add(new float[]{
+					Float.parseFloat(columns[0]),
+					Float.parseFloat(columns[1]),
+					columns.length > 2 ? Float.parseFloat(columns[2]) : GameModel.G
+			});
+		}
+		if (rows.isEmpty()) throw new IllegalArgumentException("No rows in " + path);
+		return resample(rows);
+	}
+
+	private static AtmosphereTable resample(List<float[]> rows) {
+		float groundDensity = rows.get(0)[1];
+		if (!(groundDensity > 0)) throw new IllegalArgumentException("The first row's density must be positive.");
+		float base = rows.get(0)[0];
+		float top = rows.get(rows.size() - 1)[0];
+		float step = Float.MAX_VALUE;
+		for (int i = 1; i < rows.size(); i++) {
+			float spacing = rows.get(i)[0] - rows.get(i - 1)[0];
+			if (!(spacing > 0)) throw new IllegalArgumentException("Altitudes must be strictly ascending.");
+			step = Math.min(step, spacing);
+		}
+		step = Math.max(step, (top - base) / (MAX_ENTRIES - 1));
+		int entries = rows.size() == 1 ? 1 : (int) Math.ceil((top - base) / step) + 1;
+		double spacing = entries > 1 ? (top - base) / (entries - 1.0) : 1;
+
+		float[] d = new float[entries];
+		float[] g = new float[entries];
+		int row = 0;
+		for (int i = 0; i < entries; i++) {
+			float altitude = (float) (base + i * spacing);
+			while (row < rows.size() - 2 && rows.get(row + 1)[0] < altitude) row++;
+			float[] a = rows.get(row);
+			float[] b = rows.get(Math.min(row + 1, rows.size() - 1));
+			float f = b[0] > a[0] ? Math.max(0, Math.min(1, (altitude - a[0]) / (b[0] - a[0]))) : 0;
+			d[i] = (a[1] + (b[1] - a[1]) * f) / groundDensity;
+			g[i] = a[2] + (b[2] - a[2]) * f;
+		}
+		return new AtmosphereTable(base, (float) spacing, d, g);
+	}
+
+	/**
+	 * @param altitude The altitude, in meters.
+	 * @return The density relative to ground level.
+	 */
+	public float getDensity(float altitude) {
+		return lookup(density, altitude);
+	}
+
+	/**
+	 * @param altitude The altitude, in meters.
+	 * @return The acceleration due to gravity, in m/s^2.
+	 */
+	public float getGravity(float altitude) {
+		return lookup(gravity, altitude);
+	}
+
+	/**
+	 * @return The altitude of the last entry, in meters.
+	 */
+	public float getTop() {
+		return base + (density.length - 1) * step;
+	}
+
+	private float lookup(float[] values, float altitude) {
+		float x = (altitude - base) * inverseStep;
+		if (!(x > 0)) return values[0];
+		int last = values.length - 1;
+		if (x >= last) return values[last];
+		int i = (int) x;
+		float a = values[i];
+		return a + (values[i + 1] - a) * (x - i);
+	}
+}
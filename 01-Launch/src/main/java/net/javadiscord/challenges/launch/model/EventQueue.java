@@ -0,0 +1,139 @@
+package net.javadiscord.challenges.launch.model;
+
+import net.javadiscord.challenges.launch.Scheduler;
+
+import java.util.PriorityQueue;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A {@link Scheduler} keyed to a model's simulated time, backed by a priority
+ * queue ordered by when each task is next due. Each tick only needs to look
+ * at the head of the queue, so pending tasks cost nothing until they're due,
+ * and scheduling or running a task takes logarithmic time. Cancelled tasks
+ * are just marked, and are dropped when they reach the head.
+ * <p>
+ *     This isn't thread-safe, and should only be used by the thread which
+ *     updates the model, such as from guidance computer callbacks.
+ * </p>
+ */
+public class EventQueue implements Scheduler {
+	private final PriorityQueue<Event> queue = new PriorityQueue<>();
+	private final DoubleSupplier clock;
+
+	/**
+	 * Counts the tasks scheduled so far, to break ties between tasks that are
+	 * due at the same time.
+	 */
+	private long sequence;
+
+	/**
+	 * @param clock Supplies the current simulated time, in seconds.
+	 */
+	public EventQueue(DoubleSupplier clock) {
+		this.clock = clock;
+	}
+
+	@Override
+	public double getTime() {
+		return clock.getAsDouble();
+	}
+
+	@Override
+	public Task schedule(double delay, Runnable task) {
+		return add(delay, 0, task);
+	}
+
+	@Override
+	public Task scheduleAtFixedRate(double delay, double period, Runnable task) {
+		if (!(period > 0)) throw new IllegalArgumentException("Period must be positive.");
+		return add(delay, period, task);
+	}
+
+	private Task add(double delay, double period, Runnable task) {
+		if (delay < 0) throw new IllegalArgumentException("Delay must not be negative.");
+		var event = new Event(task, period);
+		event.due = getTime() + delay;
+		event.sequence = sequence++;
+		queue.add(event);
+		return event;
+	}
+
+	/**
+	 * Runs every task that's due at or before the current time, in the order
+	 * that they're due. Tasks which are scheduled by other tasks also run, if
+	 * they're due.
+	 */
+	public void runDue() {
+		double time = getTime();
+		Event event;
+		while ((event = queue.peek()) != null && event.due <= time) {
+			queue.poll();
+			if (event.cancelled) continue;
+			if (event.period > 0) {
+				event.due += event.period;
+				event.sequence = sequence++;
+				queue.add(event);
+			}
+			event.task.run();
+		}
+	}
+
+	/**
+	 * @return The time at which the next task is due, or positive infinity
+	 * if there are none.
+	 */
+	public double getNextDue() {
+		Event event;
+		while ((event = queue.peek()) != null && event.cancelled) {
+			queue.poll();
+		}
+		return event == null ? Double.POSITIVE_INFINITY : event.due;
+	}
+
+	/**
+	 * Cancels every pending task.
+	 */
+	public void cancelAll() {
+		for (var event : queue) {
+			event.cancelled = true;
+		}
+		queue.clear();
+	}
+
+	/**
+	 * @return The number of tasks waiting to run, including any which have
+	 * been cancelled but not yet dropped.
+	 */
+	public int size() {
+		return queue.size();
+	}
+
+	private static class Event implements Task, Comparable<Event> {
+		private final Runnable task;
+		private final double period;
+		private double due;
+		private long sequence;
+		private boolean cancelled;
+
+		Event(Runnable task, double period) {
+			this.task = task;
+			this.period = period;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public int compareTo(Event other) {
+			int c = Double.compare(due, other.due);
+			return c != 0 ? c : Long.compare(sequence, other.sequence);
+		}
+	}
+}
@@ -1,20 +1,49 @@
 package net.javadiscord.challenges.launch.model;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
 @Getter
-@AllArgsConstructor
 public class FuelTank {
 	private final FuelType type;
 	private final float capacity;
 	private float stored;
 
+	/**
+	 * The registry this tank belongs to, which is told about every change to
+	 * the fuel stored, or null if it doesn't belong to one.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.PACKAGE)
+	private FuelTankRegistry registry;
+
+	public FuelTank(FuelType type, float capacity, float stored) {
+		this.type = type;
+		this.capacity = capacity;
+		this.stored = stored;
+	}
+
 	public FuelTank(FuelType type, float capacity) {
 		this(type, capacity, capacity);
 	}
 
 	public void consumeFuel(float amount) {
-		stored = Math.max(0, stored - amount);
+		changeStored(Math.max(0, stored - amount));
+	}
+
+	/**
+	 * Sets the amount of fuel in this tank directly, bounded by its capacity.
+	 * This is meant for restoring a previously recorded state.
+	 * @param stored The amount of fuel, in Kg.
+	 */
+	public void setStored(float stored) {
+		changeStored(Math.min(capacity, Math.max(0, stored)));
+	}
+
+	private void changeStored(float stored) {
+		double delta = (double) stored - this.stored;
+		this.stored = stored;
+		if (registry != null && delta != 0) registry.onStoredChanged(delta);
 	}
 }
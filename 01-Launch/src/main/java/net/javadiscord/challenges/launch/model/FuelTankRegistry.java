@@ -0,0 +1,106 @@
+package net.javadiscord.challenges.launch.model;
+
+import java.util.List;
+
+/**
+ * A rocket's fuel tanks, indexed both in the order they were added and by
+ * their fuel type's id, with a running total of the fuel stored in all of
+ * them. The tanks report every change in their contents here, so the total
+ * is always up to date, and querying it doesn't loop over the tanks.
+ */
+public class FuelTankRegistry {
+	private final FuelTank[] tanks;
+	private final FuelTank[] tanksByType;
+
+	/**
+	 * The total fuel stored, kept in double precision so that the many small
+	 * changes made to it don't accumulate rounding error.
+	 */
+	private double totalStored;
+
+	/**
+	 * @param tanks The tanks, with at most one for each fuel type. Each tank
+	 *              may only belong to one registry.
+	 */
+	public FuelTankRegistry(List<FuelTank> tanks) {
+		this.tanks = tanks.toArray(new FuelTank[0]);
+		int types = 0;
+		for (var tank : this.tanks) {
+			if (tank.getType().getId() < 0) {
+				throw new IllegalArgumentException("Fuel type " + tank.getType().getName() + " has no id, so it can't be kept in a tank.");
+			}
+			types = Math.max(types, tank.getType().getId() + 1);
+		}
+		this.tanksByType = new FuelTank[types];
+		for (var tank : this.tanks) {
+			int id = tank.getType().getId();
+			if (tanksByType[id] != null) {
+				throw new IllegalArgumentException("There is already a tank for fuel type " + id + ".");
+			}
+			tanksByType[id] = tank;
+			tank.setRegistry(this);
+			totalStored += tank.getStored();
+		}
+	}
+
+	public int size() {
+		return tanks.length;
+	}
+
+	/**
+	 * @param index The index of the tank, in the order tanks were added.
+	 * @return The tank.
+	 */
+	public FuelTank get(int index) {
+		return tanks[index];
+	}
+
+	/**
+	 * @return One more than the highest fuel type id of any tank.
+	 */
+	public int getTypeCount() {
+		return tanksByType.length;
+	}
+
+	/**
+	 * @param typeId The id of a fuel type.
+	 * @return The tank of that type, or null if there isn't one.
+	 */
+	public FuelTank getByType(int typeId) {
+		return typeId >= 0 && typeId < tanksByType.length ? tanksByType[typeId] : null;
+	}
+
+	/**
+	 * @param typeId The id of a fuel type.
+	 * @return The fuel of that type stored, in Kg.
+	 */
+	public float getStored(int typeId) {
+		var tank = getByType(typeId);
+		return tank == null ? 0 : tank.getStored();
+	}
+
+	/**
+	 * Consumes fuel of a type, if there's a tank for it.
+	 * @param typeId The id of the fuel type.
+	 * @param amount The amount to consume, in Kg.
+	 */
+	public void consume(int typeId, float amount) {
+		var tank = getByType(typeId);
+		if (tank != null) tank.consumeFuel(amount);
+	}
+
+	/**
+	 * @return The total fuel stored in all tanks, in Kg.
+	 */
+	public double getTotalStored() {
+		return totalStored;
+	}
+
+	/**
+	 * Called by tanks whenever their contents change.
+	 * @param delta The change in the amount stored, in Kg.
+	 */
+	void onStoredChanged(double delta) {
+		totalStored += delta;
+	}
+}
@@ -4,9 +4,32 @@ import lombok.Getter;
 
 @Getter
 public class FuelType {
+	/**
+	 * The id of a fuel type which no rocket has a tank for.
+	 */
+	public static final int NO_ID = -1;
+
+	/**
+	 * A small, dense index identifying this type within its rocket, used to
+	 * look up its tank without hashing, or {@link #NO_ID}.
+	 */
+	private final int id;
 	private final String name;
 
+	/**
+	 * Creates a fuel type without an id. It can't be kept in a rocket's
+	 * tanks, so a rocket reports none of it stored, and ignores any attempt
+	 * to consume it.
+	 * @param name The name of the fuel.
+	 */
 	public FuelType(String name) {
+		this.id = NO_ID;
+		this.name = name;
+	}
+
+	public FuelType(int id, String name) {
+		if (id < 0) throw new IllegalArgumentException("Fuel type ids must not be negative.");
+		this.id = id;
 		this.name = name;
 	}
 }
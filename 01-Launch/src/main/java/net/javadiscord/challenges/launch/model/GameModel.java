@@ -1,10 +1,16 @@
 package net.javadiscord.challenges.launch.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import net.javadiscord.challenges.launch.GuidanceComputer;
 
 import java.awt.*;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 
 @Getter
 public class GameModel {
@@ -15,19 +21,99 @@ public class GameModel {
 	public static final float G = 9.81f;
 	public static final float EARTH_CIRCUMFERENCE = 40_075_017.0f;
 
+	/**
+	 * The amount of time between the start of the launch sequence and liftoff,
+	 * in seconds.
+	 */
+	public static final float LAUNCH_SEQUENCE_DURATION = 5.0f;
+
+	/**
+	 * The sky's color at every density, from 0 to 255 in steps of 1/255.
+	 */
+	private static final Color[] SKY_COLORS = new Color[256];
+
+	static {
+		float[] rgb = SKY_COLOR.getRGBColorComponents(null);
+		for (int i = 0; i < SKY_COLORS.length; i++) {
+			SKY_COLORS[i] = new Color(rgb[0], rgb[1], rgb[2], i / 255.0f);
+		}
+	}
+
 	private final Rocket rocket;
-	private long t0;
+
+	/**
+	 * The atmospheric density and gravity at every altitude.
+	 */
+	private final AtmosphereTable atmosphere;
+
+	/**
+	 * The density and the acceleration due to gravity at the rocket's
+	 * altitude, looked up once per tick by {@link #updateEnvironment()} and
+	 * shared by the physics, guidance and rendering.
+	 */
+	@Getter(AccessLevel.NONE)
+	private float density;
+	@Getter(AccessLevel.NONE)
+	private float gravity;
+
+	/**
+	 * The source of randomness for this model's turbulence and air resistance.
+	 * Each model has its own, so that flights can be reproduced from a seed,
+	 * and so that many models can be simulated in parallel without contention.
+	 */
+	private final RandomGenerator random;
+
+	/**
+	 * The simulated time, in seconds, since this model was created. This only
+	 * advances when the physics are updated, so it is independent of the wall
+	 * clock.
+	 */
+	private double time;
+
+	/**
+	 * The simulated time at which liftoff happens, or {@link Float#MAX_VALUE}
+	 * if no launch is scheduled.
+	 */
+	private double launchTime;
 	private boolean launched;
 	private boolean aborted;
 
-	public GameModel(GuidanceComputer guidanceComputer) {
+	/**
+	 * Tasks that the guidance computer has scheduled in simulated time.
+	 */
+	private final EventQueue scheduler = new EventQueue(this::getTime);
+
+	/**
+	 * Commands from other threads, such as user input, which are waiting to
+	 * be applied at the start of the next tick.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final Queue<Consumer<GameModel>> commands = new ConcurrentLinkedQueue<>();
+
+	public GameModel(GuidanceComputer guidanceComputer, RandomGenerator random, AtmosphereTable atmosphere) {
 		this.rocket = new Rocket(guidanceComputer);
-		t0 = Long.MAX_VALUE;
+		this.random = random;
+		this.atmosphere = atmosphere;
+		this.time = 0;
+		this.launchTime = Float.MAX_VALUE;
+		updateEnvironment();
+	}
+
+	public GameModel(GuidanceComputer guidanceComputer, RandomGenerator random) {
+		this(guidanceComputer, random, AtmosphereTable.DEFAULT);
+	}
+
+	public GameModel(GuidanceComputer guidanceComputer) {
+		this(guidanceComputer, new SplittableRandom());
 	}
 
 	public void startLaunch() {
-		t0 = System.currentTimeMillis() + 5000;
-		rocket.getGuidanceComputer().launchSequenceStart(rocket, getTimeSinceLaunch());
+		// Drop anything left from an earlier launch sequence, whether or not
+		// it was aborted, so that none of it happens during this one.
+		scheduler.cancelAll();
+		rocket.getCommandBuffer().discard();
+		launchTime = time + LAUNCH_SEQUENCE_DURATION;
+		rocket.getGuidanceComputer().launchSequenceStart(rocket, getTimeSinceLaunch(), scheduler);
 		launched = false;
 		aborted = false;
 	}
@@ -42,28 +128,115 @@ public class GameModel {
 	public void abortLaunch() {
 		launched = false;
 		aborted = true;
-		t0 = Long.MAX_VALUE;
+		launchTime = Float.MAX_VALUE;
+		scheduler.cancelAll();
+		rocket.getCommandBuffer().discard();
 		rocket.doForAllThrusters("", thruster -> thruster.setActive(false));
 	}
 
+	/**
+	 * Queues a command to be applied to this model at the start of the next
+	 * tick, by the thread which updates it. This is how any other thread
+	 * should change the model.
+	 * @param command The command to apply.
+	 */
+	public void submit(Consumer<GameModel> command) {
+		commands.add(command);
+	}
+
+	/**
+	 * Applies all queued commands, in the order they were submitted. This is
+	 * called at the start of each tick.
+	 */
+	public void applyCommands() {
+		Consumer<GameModel> command;
+		while ((command = commands.poll()) != null) {
+			command.accept(this);
+		}
+	}
+
+	/**
+	 * Advances the simulated clock.
+	 * @param t The amount of time to advance by, in seconds.
+	 */
+	public void advanceTime(double t) {
+		time += t;
+	}
+
+	/**
+	 * Restores the model's clock and launch state to a previously recorded
+	 * state, without notifying the guidance computer.
+	 * @param time The simulated time, in seconds.
+	 * @param timeSinceLaunch The time since launch, in seconds.
+	 * @param launched Whether the rocket had launched.
+	 * @param aborted Whether the launch had been aborted.
+	 */
+	public void restoreClock(double time, float timeSinceLaunch, boolean launched, boolean aborted) {
+		this.time = time;
+		this.launchTime = time - timeSinceLaunch;
+		this.launched = launched;
+		this.aborted = aborted;
+	}
+
 	public float getTimeSinceLaunch() {
-		return (System.currentTimeMillis() - t0) / 1000.0f;
+		return (float) (time - launchTime);
+	}
+
+	/**
+	 * Looks up the atmospheric density and gravity at the rocket's current
+	 * altitude. This is called once per tick, after the rocket moves, and
+	 * must be called after moving the rocket in any other way.
+	 */
+	public void updateEnvironment() {
+		float altitude = rocket.getAltitude();
+		density = atmosphere.getDensity(altitude);
+		gravity = atmosphere.getGravity(altitude);
 	}
 
 	public Color getSkyColor() {
-		float[] rgb = SKY_COLOR.getRGBColorComponents(null);
-		return new Color(rgb[0], rgb[1], rgb[2], getAtmosphericDensity());
+		return getSkyColor(density);
+	}
+
+	/**
+	 * Gets the color of the sky at any density. The colors are precomputed,
+	 * so this doesn't allocate.
+	 * @param density The density, from 0 to 1.
+	 * @return The color.
+	 */
+	public static Color getSkyColor(float density) {
+		return SKY_COLORS[Math.round(Math.min(1, Math.max(0, density)) * 255)];
 	}
 
+	/**
+	 * @return The atmospheric density at the rocket's altitude as of the last
+	 * tick.
+	 */
 	public float getAtmosphericDensity() {
-		if (rocket.getAltitude() > KARMAN_LINE) return 0.0f;
-		if (rocket.getAltitude() <= 0.0f) return 1.0f;
-		return (float) Math.pow((KARMAN_LINE - rocket.getAltitude()) / KARMAN_LINE, 2);
+		return density;
+	}
+
+	/**
+	 * Gets the atmospheric density at any altitude.
+	 * @param altitude The altitude, in meters.
+	 * @return The density, from 1 at ground level to 0 in space.
+	 */
+	public float getAtmosphericDensity(float altitude) {
+		return atmosphere.getDensity(altitude);
 	}
 
 	public float getEffectiveAccelerationDueToGravity() {
-		var v = rocket.getVelocity().x;
-		if (v == 0.0f) return G;
-		return Math.max(0, G * (1.0f - (Math.abs(v) / ORBITAL_SPEED)));
+		return getEffectiveAccelerationDueToGravity(rocket.getVelocity().x);
+	}
+
+	/**
+	 * Gets the effective acceleration due to gravity at the rocket's altitude
+	 * as of the last tick, and any longitudinal velocity, which falls to 0 at
+	 * orbital speed.
+	 * @param v The longitudinal velocity, in m/s.
+	 * @return The acceleration, in m/s^2.
+	 */
+	public float getEffectiveAccelerationDueToGravity(float v) {
+		if (v == 0.0f) return gravity;
+		return Math.max(0, gravity * (1.0f - (Math.abs(v) / ORBITAL_SPEED)));
 	}
 }
@@ -0,0 +1,200 @@
+package net.javadiscord.challenges.launch.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.javadiscord.challenges.launch.MathUtils;
+
+/**
+ * A copy of a model's changing state at the end of a single tick, for readers
+ * on other threads, such as the renderer. Only the state which changes is
+ * copied; the rocket's layout, like its size and where its thrusters are, is
+ * read from the rocket itself.
+ * <p>
+ *     Snapshots are preallocated and reused, so they're only written to by
+ *     the thread which owns the model, and are never changed while a reader
+ *     holds them. See {@link net.javadiscord.challenges.launch.control.SnapshotPublisher}.
+ * </p>
+ */
+@Getter
+public class ModelSnapshot {
+	/**
+	 * The wall clock time at which this was captured, from {@link System#nanoTime()}.
+	 */
+	private long wallTime;
+	private double time;
+	private float timeSinceLaunch;
+	private boolean launched;
+	private boolean aborted;
+
+	private float positionX;
+	private float positionY;
+	private float velocityX;
+	private float velocityY;
+	private float orientation;
+	private float angularVelocity;
+	private float mass;
+	private float effectiveGravity;
+	private float atmosphericDensity;
+
+	// Per-thruster and per-tank state, in the rocket's order.
+	@Getter(AccessLevel.NONE)
+	private final boolean[] thrusterActive;
+	@Getter(AccessLevel.NONE)
+	private final float[] thrusterOrientation;
+	@Getter(AccessLevel.NONE)
+	private final float[] thrustDirX;
+	@Getter(AccessLevel.NONE)
+	private final float[] thrustDirY;
+	@Getter(AccessLevel.NONE)
+	private final float[] tankStored;
+
+	/**
+	 * Creates an empty snapshot, sized for the given rocket.
+	 * @param rocket The rocket.
+	 */
+	public ModelSnapshot(Rocket rocket) {
+		int thrusters = rocket.getThrusterCount();
+		this.thrusterActive = new boolean[thrusters];
+		this.thrusterOrientation = new float[thrusters];
+		this.thrustDirX = new float[thrusters];
+		this.thrustDirY = new float[thrusters];
+		this.tankStored = new float[rocket.getFuelTankCount()];
+	}
+
+	/**
+	 * Copies the model's current state into this snapshot, without allocating.
+	 * @param model The model to copy, whose rocket must have the same layout
+	 *              as the one this snapshot was created for.
+	 */
+	public void capture(GameModel model) {
+		var r = model.getRocket();
+		wallTime = System.nanoTime();
+		time = model.getTime();
+		timeSinceLaunch = model.getTimeSinceLaunch();
+		launched = model.isLaunched();
+		aborted = model.isAborted();
+		positionX = r.getPosition().x;
+		positionY = r.getPosition().y;
+		velocityX = r.getVelocity().x;
+		velocityY = r.getVelocity().y;
+		orientation = r.getOrientation();
+		angularVelocity = r.getAngularVelocity();
+		mass = r.getMass();
+		effectiveGravity = model.getEffectiveAccelerationDueToGravity();
+		atmosphericDensity = model.getAtmosphericDensity();
+		for (int i = 0; i < thrusterActive.length; i++) {
+			var thruster = r.getThruster(i);
+			thrusterActive[i] = thruster.isActive();
+			thrusterOrientation[i] = thruster.getCurrentOrientation();
+			thrustDirX[i] = thruster.getThrustDirX();
+			thrustDirY[i] = thruster.getThrustDirY();
+		}
+		for (int i = 0; i < tankStored.length; i++) {
+			tankStored[i] = r.getFuelTank(i).getStored();
+		}
+	}
+
+	/**
+	 * Copies another snapshot of the same rocket into this one.
+	 * @param other The snapshot to copy.
+	 */
+	public void copyFrom(ModelSnapshot other) {
+		wallTime = other.wallTime;
+		time = other.time;
+		timeSinceLaunch = other.timeSinceLaunch;
+		launched = other.launched;
+		aborted = other.aborted;
+		positionX = other.positionX;
+		positionY = other.positionY;
+		velocityX = other.velocityX;
+		velocityY = other.velocityY;
+		orientation = other.orientation;
+		angularVelocity = other.angularVelocity;
+		mass = other.mass;
+		effectiveGravity = other.effectiveGravity;
+		atmosphericDensity = other.atmosphericDensity;
+		System.arraycopy(other.thrusterActive, 0, thrusterActive, 0, thrusterActive.length);
+		System.arraycopy(other.thrusterOrientation, 0, thrusterOrientation, 0, thrusterOrientation.length);
+		System.arraycopy(other.thrustDirX, 0, thrustDirX, 0, thrustDirX.length);
+		System.arraycopy(other.thrustDirY, 0, thrustDirY, 0, thrustDirY.length);
+		System.arraycopy(other.tankStored, 0, tankStored, 0, tankStored.length);
+	}
+
+	/**
+	 * Sets this snapshot to a state between two others of the same rocket.
+	 * Continuous values are interpolated linearly, with angles taking the
+	 * shortest arc, and discrete values, like which thrusters are active, are
+	 * taken from the later snapshot.
+	 * @param a The earlier snapshot.
+	 * @param b The later snapshot.
+	 * @param alpha How far to go from a to b, between 0 and 1.
+	 */
+	public void interpolate(ModelSnapshot a, ModelSnapshot b, float alpha) {
+		copyFrom(b);
+		wallTime = a.wallTime + (long) ((b.wallTime - a.wallTime) * (double) alpha);
+		time = a.time + (b.time - a.time) * alpha;
+		timeSinceLaunch = lerp(a.timeSinceLaunch, b.timeSinceLaunch, alpha);
+		float dx = b.positionX - a.positionX;
+		// Don't sweep back around the Earth when longitude wraps.
+		if (dx < -GameModel.EARTH_CIRCUMFERENCE / 2) dx += GameModel.EARTH_CIRCUMFERENCE;
+		positionX = a.positionX + dx * alpha;
+		positionY = lerp(a.positionY, b.positionY, alpha);
+		velocityX = lerp(a.velocityX, b.velocityX, alpha);
+		velocityY = lerp(a.velocityY, b.velocityY, alpha);
+		orientation = MathUtils.lerpRadians(a.orientation, b.orientation, alpha);
+		angularVelocity = lerp(a.angularVelocity, b.angularVelocity, alpha);
+		mass = lerp(a.mass, b.mass, alpha);
+		effectiveGravity = lerp(a.effectiveGravity, b.effectiveGravity, alpha);
+		atmosphericDensity = lerp(a.atmosphericDensity, b.atmosphericDensity, alpha);
+		for (int i = 0; i < thrusterOrientation.length; i++) {
+			thrusterOrientation[i] = MathUtils.lerpRadians(a.thrusterOrientation[i], b.thrusterOrientation[i], alpha);
+		}
+		for (int i = 0; i < tankStored.length; i++) {
+			tankStored[i] = lerp(a.tankStored[i], b.tankStored[i], alpha);
+		}
+	}
+
+	private static float lerp(float a, float b, float alpha) {
+		return a + (b - a) * alpha;
+	}
+
+	public float getAltitude() {
+		return positionY;
+	}
+
+	public float getLongitude() {
+		return positionX;
+	}
+
+	public float getOrientationDegrees() {
+		return orientation * (180.0f / (float) Math.PI);
+	}
+
+	public boolean isThrusterActive(int index) {
+		return thrusterActive[index];
+	}
+
+	/**
+	 * @param index The thruster's index in the rocket.
+	 * @return The thruster's orientation, including its gimbal, in radians.
+	 */
+	public float getThrusterOrientation(int index) {
+		return thrusterOrientation[index];
+	}
+
+	public float getThrustDirX(int index) {
+		return thrustDirX[index];
+	}
+
+	public float getThrustDirY(int index) {
+		return thrustDirY[index];
+	}
+
+	/**
+	 * @param index The tank's index in the rocket.
+	 * @return The fuel stored in the tank, in Kg.
+	 */
+	public float getTankStored(int index) {
+		return tankStored[index];
+	}
+}
@@ -1,5 +1,6 @@
 package net.javadiscord.challenges.launch.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.javadiscord.challenges.launch.GuidanceComputer;
 import net.javadiscord.challenges.launch.MathUtils;
@@ -39,8 +40,45 @@ public class Rocket {
 
 	private final Set<Thruster> thrusters;
 	private final Set<FuelTank> fuelTanks;
+
+	/**
+	 * The fuel tanks, indexed by fuel type, with a running total of the fuel
+	 * stored in them.
+	 */
+	private final FuelTankRegistry tankRegistry;
+
+	/**
+	 * A read-only view of the fuel tanks by type. {@link #getFuelRemaining}
+	 * is quicker for looking up how much fuel is left.
+	 */
 	private final Map<FuelType, FuelTank> fuelTanksMap;
 
+	/**
+	 * The thrusters, in the same order as their set, for iterating in the
+	 * physics loop without allocating an iterator.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final Thruster[] thrusterArray;
+
+	/**
+	 * Index of thrusters by their exact name.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final Map<String, Thruster> thrustersByName;
+
+	/**
+	 * Index of thruster groups by every prefix of every thruster's name,
+	 * including the empty prefix. Any other prefix matches no thrusters.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final Map<String, ThrusterGroup> thrusterGroups;
+
+	/**
+	 * Commands for the thrusters from the guidance computer, applied at the
+	 * start of each tick.
+	 */
+	private final ThrusterCommandBuffer commandBuffer;
+
 	private final GuidanceComputer guidanceComputer;
 
 	public Rocket(GuidanceComputer guidanceComputer) {
@@ -51,16 +89,19 @@ public class Rocket {
 		this.width = 6.0f;
 		this.orientation = (float) Math.PI / 2;
 		this.angularVelocity = 0;
-		this.thrusters = new HashSet<>();
-		this.fuelTanks = new HashSet<>();
-		FuelType rp1 = new FuelType("RP 1");
-		FuelType monopropellant = new FuelType("Monopropellant");
+		// Insertion-ordered, so that physics iterate in the same order on every run.
+		this.thrusters = new LinkedHashSet<>();
+		this.fuelTanks = new LinkedHashSet<>();
+		FuelType rp1 = new FuelType(0, "RP 1");
+		FuelType monopropellant = new FuelType(1, "Monopropellant");
 		fuelTanks.add(new FuelTank(rp1, 380_000));
 		fuelTanks.add(new FuelTank(monopropellant, 5_000));
-		this.fuelTanksMap = new HashMap<>();
+		this.tankRegistry = new FuelTankRegistry(List.copyOf(fuelTanks));
+		var tanksByType = new LinkedHashMap<FuelType, FuelTank>();
 		for (var tank : fuelTanks) {
-			fuelTanksMap.put(tank.getType(), tank);
+			tanksByType.put(tank.getType(), tank);
 		}
+		this.fuelTanksMap = Collections.unmodifiableMap(tanksByType);
 
 		var mainEngineFactory = new ThrusterFactory()
 				.maxThrust(1_700_000).minThrottle(0.4f).maxThrottle(1.05f).fuelBurnRate(300.0f).fuelType(rp1).gimbalRange(10.0f).size(1.5f);
@@ -79,26 +120,77 @@ public class Rocket {
 		var rcsBackwardRight = rcsFactory.build("RCS Backward Right", new Vec2(width / 2 - 1, -height / 2 + 2), (float) -Math.PI / 2);
 		var rcsBackwardLeft = rcsFactory.build("RCS Backward Left", new Vec2(-width / 2 + 1, -height / 2 + 2), (float) -Math.PI / 2);
 
-		thrusters.addAll(Set.of(
+		thrusters.addAll(List.of(
 				me1, me2, me3,
 				rcsTopLeft, rcsTopRight,
 				rcsBottomLeft, rcsBottomRight,
 				rcsForwardLeft, rcsForwardRight,
 				rcsBackwardLeft, rcsBackwardRight
 		));
+		this.thrusterArray = thrusters.toArray(new Thruster[0]);
+		this.thrustersByName = new HashMap<>();
+		for (var thruster : thrusterArray) {
+			thrustersByName.put(thruster.getName(), thruster);
+		}
+		this.thrusterGroups = buildThrusterGroups(thrusterArray);
+		this.commandBuffer = new ThrusterCommandBuffer(thrusterArray);
 	}
 
-	public float getFuelRemaining(FuelType type) {
-		if (fuelTanksMap.containsKey(type)) {
-			return fuelTanksMap.get(type).getStored();
+	private static Map<String, ThrusterGroup> buildThrusterGroups(Thruster[] thrusters) {
+		Map<String, List<Integer>> indicesByPrefix = new HashMap<>();
+		for (int i = 0; i < thrusters.length; i++) {
+			String name = thrusters[i].getName();
+			for (int length = 0; length <= name.length(); length++) {
+				indicesByPrefix.computeIfAbsent(name.substring(0, length), p -> new ArrayList<>()).add(i);
+			}
 		}
-		return 0;
+		Map<String, ThrusterGroup> groups = new HashMap<>();
+		indicesByPrefix.forEach((prefix, indices) -> {
+			var groupThrusters = new Thruster[indices.size()];
+			var groupIndices = new int[indices.size()];
+			for (int i = 0; i < groupIndices.length; i++) {
+				groupIndices[i] = indices.get(i);
+				groupThrusters[i] = thrusters[groupIndices[i]];
+			}
+			groups.put(prefix, new ThrusterGroup(groupThrusters, groupIndices));
+		});
+		return Map.copyOf(groups);
+	}
+
+	public int getThrusterCount() {
+		return thrusterArray.length;
+	}
+
+	/**
+	 * Gets a thruster by its index. Thrusters are indexed in the order in
+	 * which they're iterated in {@link #getThrusters()}.
+	 * @param index The index of the thruster.
+	 * @return The thruster.
+	 */
+	public Thruster getThruster(int index) {
+		return thrusterArray[index];
+	}
+
+	public int getFuelTankCount() {
+		return tankRegistry.size();
+	}
+
+	/**
+	 * Gets a fuel tank by its index. Tanks are indexed in the order in which
+	 * they're iterated in {@link #getFuelTanks()}.
+	 * @param index The index of the tank.
+	 * @return The fuel tank.
+	 */
+	public FuelTank getFuelTank(int index) {
+		return tankRegistry.get(index);
+	}
+
+	public float getFuelRemaining(FuelType type) {
+		return tankRegistry.getStored(type.getId());
 	}
 
 	public void consumeFuel(FuelType type, float quantity) {
-		if (fuelTanksMap.containsKey(type)) {
-			fuelTanksMap.get(type).consumeFuel(quantity);
-		}
+		tankRegistry.consume(type.getId(), quantity);
 	}
 
 	public float getOrientationDegrees() {
@@ -126,15 +218,25 @@ public class Rocket {
 	 * @return The total weight of the rocket.
 	 */
 	public float getMass() {
-		float totalMass = dryMass;
-		for (var tank : fuelTanks) {
-			totalMass += tank.getStored();
-		}
-		return totalMass;
+		return (float) (dryMass + tankRegistry.getTotalStored());
 	}
 
 	public Thruster getThrusterByName(String name) {
-		return thrusters.stream().filter(t -> t.getName().equals(name)).findFirst().orElseThrow();
+		var thruster = thrustersByName.get(name);
+		if (thruster == null) throw new NoSuchElementException("No thruster named " + name);
+		return thruster;
+	}
+
+	/**
+	 * Gets the group of all thrusters whose names begin with the given
+	 * prefix. Groups are prebuilt, so this is a single map lookup, and the
+	 * same group is returned every time.
+	 * @param prefix The prefix to search for.
+	 * @return The group of thrusters matching this prefix, which is empty if
+	 * there are none.
+	 */
+	public ThrusterGroup getThrusterGroup(String prefix) {
+		return thrusterGroups.getOrDefault(prefix, ThrusterGroup.EMPTY);
 	}
 
 	/**
@@ -143,7 +245,7 @@ public class Rocket {
 	 * @return The list of thrusters matching this prefix.
 	 */
 	public List<Thruster> getAllByPrefix(String prefix) {
-		return thrusters.stream().filter(t -> t.getName().startsWith(prefix)).toList();
+		return getThrusterGroup(prefix).getThrusters();
 	}
 
 	/**
@@ -153,6 +255,6 @@ public class Rocket {
 	 * @param action An action to perform for each matching thruster.
 	 */
 	public void doForAllThrusters(String prefix, Consumer<Thruster> action) {
-		getAllByPrefix(prefix).forEach(action);
+		getThrusterGroup(prefix).forEach(action);
 	}
 }
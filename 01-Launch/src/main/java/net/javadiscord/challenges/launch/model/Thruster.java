@@ -21,14 +21,35 @@ public class Thruster {
 	private final FuelType fuelType;
 	private final float size;
 	private final float gimbalRange;
+	private final ThrusterGeometry geometry;
 
 	private boolean active;
 	private float gimbal;
 	private float throttle;
 
-	public Thruster(String name, Vec2 position, float orientation, float maxThrust, float minThrottle, float maxThrottle, float fuelBurnRate, FuelType fuelType, float size, float gimbalRange) {
+	/**
+	 * The unit vector in the direction of this thruster's thrust, relative to
+	 * the rocket. This is only recomputed when the gimbal changes.
+	 */
+	private float thrustDirX;
+	private float thrustDirY;
+
+	/**
+	 * The linear force, relative to the rocket, produced per Newton of thrust.
+	 * This is the part of the thrust that points towards the rocket's center.
+	 */
+	private float linearFactorX;
+	private float linearFactorY;
+
+	/**
+	 * The torque produced per Newton of thrust.
+	 */
+	private float torqueFactor;
+
+	public Thruster(String name, Vec2 position, ThrusterGeometry geometry, float orientation, float maxThrust, float minThrottle, float maxThrottle, float fuelBurnRate, FuelType fuelType, float size, float gimbalRange) {
 		this.name = name;
 		this.position = position;
+		this.geometry = geometry;
 		this.orientation = MathUtils.normalizeRadians(orientation);
 		this.gimbal = 0;
 		this.maxThrust = maxThrust;
@@ -40,6 +61,11 @@ public class Thruster {
 		this.gimbalRange = gimbalRange;
 		setThrottle(minThrottle);
 		this.active = false;
+		updateThrustDirection();
+	}
+
+	public Thruster(String name, Vec2 position, float orientation, float maxThrust, float minThrottle, float maxThrottle, float fuelBurnRate, FuelType fuelType, float size, float gimbalRange) {
+		this(name, position, ThrusterGeometry.of(position), orientation, maxThrust, minThrottle, maxThrottle, fuelBurnRate, fuelType, size, gimbalRange);
 	}
 
 	/**
@@ -49,7 +75,21 @@ public class Thruster {
 	 *               clockwise rotation.
 	 */
 	public void setGimbal(float gimbal) {
-		this.gimbal = Math.min(gimbalRange, Math.max(-gimbalRange, gimbal));
+		float bounded = Math.min(gimbalRange, Math.max(-gimbalRange, gimbal));
+		if (bounded != this.gimbal) {
+			this.gimbal = bounded;
+			updateThrustDirection();
+		}
+	}
+
+	private void updateThrustDirection() {
+		double thrustAngle = getCurrentOrientation() + Math.PI;
+		thrustDirX = (float) Math.cos(thrustAngle);
+		thrustDirY = (float) Math.sin(thrustAngle);
+		float forceRatio = thrustDirX * geometry.centerDirX() + thrustDirY * geometry.centerDirY();
+		linearFactorX = thrustDirX * forceRatio;
+		linearFactorY = thrustDirY * forceRatio;
+		torqueFactor = geometry.radius() * (geometry.torqueDirX() * thrustDirX + geometry.torqueDirY() * thrustDirY);
 	}
 
 	/**
@@ -87,10 +127,15 @@ public class Thruster {
 	 */
 	public Vec2 getThrust() {
 		if (!active) return new Vec2(0);
-		float t = maxThrust * throttle;
-		double thrustAngle = getCurrentOrientation() + Math.PI;
-		float x = t * (float) Math.cos(thrustAngle);
-		float y = t * (float) Math.sin(thrustAngle);
-		return new Vec2(x, y);
+		float t = getThrustMagnitude();
+		return new Vec2(t * thrustDirX, t * thrustDirY);
+	}
+
+	/**
+	 * Gets the magnitude of the thrust this thruster produces when active.
+	 * @return The thrust, in Newtons.
+	 */
+	public float getThrustMagnitude() {
+		return maxThrust * throttle;
 	}
 }
@@ -0,0 +1,198 @@
+package net.javadiscord.challenges.launch.model;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.control.TripleBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Commands for all of a rocket's thrusters, which a guidance computer writes
+ * as a whole frame and submits, and which the physics engine validates and
+ * applies in one pass at the start of its next tick. Unlike calling the
+ * thrusters' setters directly, this is safe from any thread, and the physics
+ * never see a frame half-applied.
+ * <p>
+ *     A frame is a flat array of {@link #STRIDE} floats per thruster, in the
+ *     order of {@link Rocket#getThruster(int)}: whether it's active (0 or 1),
+ *     its throttle, and its gimbal in degrees. A NaN means that the buffer
+ *     leaves that setting alone, so that it can still be changed by the
+ *     setters. Once a setting has been written, it's part of every frame
+ *     submitted after that, until {@link #clear()} is called, so a newer
+ *     frame can safely replace one which hasn't been applied yet. Values
+ *     outside a thruster's range are clamped, and infinite values, or active
+ *     flags other than 0 or 1, are rejected.
+ * </p>
+ * <p>
+ *     Frames are handed over through a {@link TripleBuffer}, so neither side
+ *     ever waits or allocates. There must only be one writer thread, and
+ *     only the thread which updates the model may apply frames.
+ * </p>
+ */
+public class ThrusterCommandBuffer {
+	public static final int STRIDE = 3;
+	public static final int ACTIVE = 0;
+	public static final int THROTTLE = 1;
+	public static final int GIMBAL = 2;
+
+	private final Thruster[] thrusters;
+
+	/**
+	 * The length of a frame, which is {@link #STRIDE} times the number of
+	 * thrusters.
+	 */
+	@Getter
+	private final int frameLength;
+
+	/**
+	 * The frame being written, owned by the writer thread.
+	 */
+	private final float[] pending;
+	private final TripleBuffer<float[]> frames;
+
+	/**
+	 * The last frame applied, owned by the physics thread.
+	 */
+	private final float[] applied;
+
+	/**
+	 * The number of frames applied so far.
+	 */
+	@Getter
+	private long appliedFrames;
+
+	/**
+	 * The number of settings rejected so far, because they weren't valid.
+	 */
+	@Getter
+	private long rejectedCommands;
+
+	ThrusterCommandBuffer(Thruster[] thrusters) {
+		this.thrusters = thrusters;
+		this.frameLength = thrusters.length * STRIDE;
+		this.pending = new float[frameLength];
+		this.applied = new float[frameLength];
+		this.frames = new TripleBuffer<>(() -> new float[frameLength]);
+		Arrays.fill(pending, Float.NaN);
+		Arrays.fill(applied, Float.NaN);
+	}
+
+	public void setActive(int thruster, boolean active) {
+		pending[thruster * STRIDE + ACTIVE] = active ? 1 : 0;
+	}
+
+	public void setThrottle(int thruster, float throttle) {
+		pending[thruster * STRIDE + THROTTLE] = throttle;
+	}
+
+	/**
+	 * @param thruster The index of the thruster.
+	 * @param gimbal The gimbal setting, in degrees.
+	 */
+	public void setGimbal(int thruster, float gimbal) {
+		pending[thruster * STRIDE + GIMBAL] = gimbal;
+	}
+
+	public void setActive(ThrusterGroup group, boolean active) {
+		for (int i = 0; i < group.size(); i++) {
+			setActive(group.getRocketIndex(i), active);
+		}
+	}
+
+	public void setThrottle(ThrusterGroup group, float throttle) {
+		for (int i = 0; i < group.size(); i++) {
+			setThrottle(group.getRocketIndex(i), throttle);
+		}
+	}
+
+	public void setGimbal(ThrusterGroup group, float gimbal) {
+		for (int i = 0; i < group.size(); i++) {
+			setGimbal(group.getRocketIndex(i), gimbal);
+		}
+	}
+
+	/**
+	 * Replaces the whole pending frame, for guidance computers which work out
+	 * all of their commands in an array of their own.
+	 * @param frame The frame, in the layout described above.
+	 */
+	public void write(float[] frame) {
+		if (frame.length != frameLength) {
+			throw new IllegalArgumentException("Expected a frame of length " + frameLength + ", but got " + frame.length);
+		}
+		System.arraycopy(frame, 0, pending, 0, frameLength);
+	}
+
+	/**
+	 * Stops the buffer from controlling any setting, so that they're all
+	 * left to the thrusters' setters again from the next frame submitted.
+	 */
+	public void clear() {
+		Arrays.fill(pending, Float.NaN);
+	}
+
+	/**
+	 * Throws away the pending frame and any submitted frame that hasn't been
+	 * applied yet, so that nothing written so far reaches the thrusters. This
+	 * is done when a launch is aborted, and must only be called by the thread
+	 * which updates the model.
+	 */
+	public void discard() {
+		Arrays.fill(pending, Float.NaN);
+		if (frames.hasFresh()) frames.acquire();
+	}
+
+	/**
+	 * Submits the pending frame, to be applied at the start of the next tick.
+	 * If a frame was submitted earlier but not applied yet, it's replaced.
+	 */
+	public void submit() {
+		System.arraycopy(pending, 0, frames.getWriteBuffer(), 0, frameLength);
+		frames.publish();
+	}
+
+	/**
+	 * Validates and applies the latest submitted frame to the thrusters, if
+	 * there is one that hasn't been applied yet. This is called by the
+	 * physics engine at the start of every tick.
+	 * @return True if a frame was applied.
+	 */
+	public boolean apply() {
+		if (!frames.hasFresh()) return false;
+		float[] frame = frames.acquire();
+		for (int i = 0; i < thrusters.length; i++) {
+			var thruster = thrusters[i];
+			int offset = i * STRIDE;
+			float active = frame[offset + ACTIVE];
+			if (active == 0 || active == 1) {
+				thruster.setActive(active == 1);
+			} else if (!Float.isNaN(active)) {
+				rejectedCommands++;
+			}
+			float throttle = frame[offset + THROTTLE];
+			if (Float.isFinite(throttle)) {
+				thruster.setThrottle(throttle);
+			} else if (!Float.isNaN(throttle)) {
+				rejectedCommands++;
+			}
+			float gimbal = frame[offset + GIMBAL];
+			if (Float.isFinite(gimbal)) {
+				thruster.setGimbal(gimbal);
+			} else if (!Float.isNaN(gimbal)) {
+				rejectedCommands++;
+			}
+		}
+		System.arraycopy(frame, 0, applied, 0, frameLength);
+		appliedFrames++;
+		return true;
+	}
+
+	/**
+	 * Copies the last frame applied, as it was submitted, for recording the
+	 * guidance computer's output. This must only be called by the thread
+	 * which updates the model, such as from a tick listener.
+	 * @param out The array to copy the frame into.
+	 */
+	public void copyLastApplied(float[] out) {
+		System.arraycopy(applied, 0, out, 0, frameLength);
+	}
+}
@@ -45,6 +45,6 @@ public class ThrusterFactory {
 	}
 
 	public Thruster build(String name, Vec2 position, float orientation) {
-		return new Thruster(name, position, orientation, maxThrust, minThrottle, maxThrottle, fuelBurnRate, fuelType, size, gimbalRange);
+		return new Thruster(name, position, ThrusterGeometry.of(position), orientation, maxThrust, minThrottle, maxThrottle, fuelBurnRate, fuelType, size, gimbalRange);
 	}
 }
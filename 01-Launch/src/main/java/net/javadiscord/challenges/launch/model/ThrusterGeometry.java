@@ -0,0 +1,39 @@
+package net.javadiscord.challenges.launch.model;
+
+/**
+ * The fixed geometry of a thruster relative to the center of its rocket. This
+ * only depends on the thruster's position, so it's computed once when the
+ * thruster is built, rather than every physics tick.
+ * @param radius The lever arm, which is the distance from the center of the
+ *               rocket to the thruster, in meters.
+ * @param centerDirX The x-component of the unit vector pointing from the
+ *                   thruster towards the center of the rocket.
+ * @param centerDirY The y-component of the unit vector pointing from the
+ *                   thruster towards the center of the rocket.
+ * @param torqueDirX The x-component of the torque arm, which is the center
+ *                   direction rotated clockwise by 90 degrees.
+ * @param torqueDirY The y-component of the torque arm.
+ */
+public record ThrusterGeometry(
+		float radius,
+		float centerDirX,
+		float centerDirY,
+		float torqueDirX,
+		float torqueDirY
+) {
+	public static ThrusterGeometry of(Vec2 position) {
+		float radius = position.length();
+		float centerDirX = (0 - position.x) / radius;
+		float centerDirY = (0 - position.y) / radius;
+		return new ThrusterGeometry(radius, centerDirX, centerDirY, centerDirY, -centerDirX);
+	}
+
+	/**
+	 * Gets the rocket's moment of inertia about this thruster's lever arm,
+	 * per Kg of rocket mass.
+	 * @return The moment of inertia factor.
+	 */
+	public float getInertiaFactor() {
+		return 0.5f * radius * radius;
+	}
+}
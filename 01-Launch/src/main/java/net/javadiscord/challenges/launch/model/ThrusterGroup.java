@@ -0,0 +1,72 @@
+package net.javadiscord.challenges.launch.model;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A fixed group of thrusters, such as all those whose names begin with a
+ * certain prefix. Groups are built once by the {@link Rocket}, so a guidance
+ * computer can look one up when the launch sequence starts, and then control
+ * all of its thrusters every tick without any searching or allocation.
+ */
+public class ThrusterGroup {
+	public static final ThrusterGroup EMPTY = new ThrusterGroup(new Thruster[0], new int[0]);
+
+	private final Thruster[] thrusters;
+	private final int[] indices;
+	private final List<Thruster> list;
+
+	ThrusterGroup(Thruster[] thrusters, int[] indices) {
+		this.thrusters = thrusters;
+		this.indices = indices;
+		this.list = List.of(thrusters);
+	}
+
+	public int size() {
+		return thrusters.length;
+	}
+
+	public Thruster get(int i) {
+		return thrusters[i];
+	}
+
+	/**
+	 * Gets the index of one of this group's thrusters within its rocket.
+	 * @param i The position of the thruster in this group.
+	 * @return The thruster's index, as used by {@link Rocket#getThruster(int)}.
+	 */
+	public int getRocketIndex(int i) {
+		return indices[i];
+	}
+
+	/**
+	 * @return An unmodifiable list of the thrusters in this group.
+	 */
+	public List<Thruster> getThrusters() {
+		return list;
+	}
+
+	public void setActive(boolean active) {
+		for (var thruster : thrusters) {
+			thruster.setActive(active);
+		}
+	}
+
+	public void setThrottle(float throttle) {
+		for (var thruster : thrusters) {
+			thruster.setThrottle(throttle);
+		}
+	}
+
+	public void setGimbal(float gimbal) {
+		for (var thruster : thrusters) {
+			thruster.setGimbal(gimbal);
+		}
+	}
+
+	public void forEach(Consumer<Thruster> action) {
+		for (var thruster : thrusters) {
+			action.accept(thruster);
+		}
+	}
+}
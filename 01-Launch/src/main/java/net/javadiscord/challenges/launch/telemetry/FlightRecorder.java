@@ -0,0 +1,204 @@
+package net.javadiscord.challenges.launch.telemetry;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.control.TickListener;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the state of a model every physics tick into a binary telemetry
+ * file. Records are appended to a memory-mapped region of the file, so each
+ * tick is a handful of absolute puts into memory, with no allocation and no
+ * system call. A new region is only mapped once every
+ * {@link #REGION_RECORDS} records.
+ * <p>
+ *     The file starts with a header containing the {@link TelemetryFormat}
+ *     of its records, the names of the recorded thrusters and tanks, and the
+ *     number of records written so far. The record count is updated after
+ *     every record, so the file can be read even if the recorder is never
+ *     closed, or if the unused end of the file can't be trimmed.
+ * </p>
+ */
+public class FlightRecorder implements TickListener, Closeable {
+	public static final int MAGIC = 0x4D4C5445; // "ETLM" in little-endian order.
+	public static final int VERSION = 1;
+
+	static final int MAGIC_OFFSET = 0;
+	static final int VERSION_OFFSET = 4;
+	static final int THRUSTER_COUNT_OFFSET = 8;
+	static final int TANK_COUNT_OFFSET = 12;
+	static final int RECORD_SIZE_OFFSET = 16;
+	static final int DATA_OFFSET_OFFSET = 20;
+	static final int RECORD_COUNT_OFFSET = 24;
+	static final int NAMES_OFFSET = 32;
+
+	/**
+	 * The number of records in each mapped region of the file.
+	 */
+	public static final int REGION_RECORDS = 1 << 16;
+
+	private final FileChannel channel;
+	@Getter
+	private final TelemetryFormat format;
+	private final int dataOffset;
+
+	// Dropped when the recorder is closed, so nothing can be written through
+	// them once the file is trimmed.
+	private MappedByteBuffer header;
+	private MappedByteBuffer region;
+	private long regionStart;
+	private int regionPosition;
+
+	@Getter
+	private long recordCount;
+
+	private volatile boolean closed;
+
+	private FlightRecorder(FileChannel channel, TelemetryFormat format, List<String> names) throws IOException {
+		this.channel = channel;
+		this.format = format;
+		var encodedHeader = encodeHeader(format, names);
+		this.dataOffset = encodedHeader.capacity();
+		this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataOffset);
+		header.order(TelemetryFormat.BYTE_ORDER);
+		header.put(encodedHeader);
+		this.regionStart = dataOffset;
+		mapRegion();
+	}
+
+	/**
+	 * Encodes the header of a telemetry file, with a record count of 0.
+	 * @param format The format of the records.
+	 * @param names The names of the thrusters and then the tanks.
+	 * @return A buffer holding the header, padded so that the records after
+	 * it are aligned to a cache line.
+	 */
+	static ByteBuffer encodeHeader(TelemetryFormat format, List<String> names) {
+		List<byte[]> encodedNames = new ArrayList<>();
+		int namesLength = 0;
+		for (var name : names) {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			encodedNames.add(bytes);
+			namesLength += Short.BYTES + bytes.length;
+		}
+		// Align the records to a cache line.
+		int dataOffset = (NAMES_OFFSET + namesLength + 63) & ~63;
+		var header = ByteBuffer.allocate(dataOffset).order(TelemetryFormat.BYTE_ORDER);
+		header.putInt(MAGIC_OFFSET, MAGIC);
+		header.putInt(VERSION_OFFSET, VERSION);
+		header.putInt(THRUSTER_COUNT_OFFSET, format.getThrusterCount());
+		header.putInt(TANK_COUNT_OFFSET, format.getTankCount());
+		header.putInt(RECORD_SIZE_OFFSET, format.getRecordSize());
+		header.putInt(DATA_OFFSET_OFFSET, dataOffset);
+		header.putLong(RECORD_COUNT_OFFSET, 0);
+		header.position(NAMES_OFFSET);
+		for (var bytes : encodedNames) {
+			header.putShort((short) bytes.length);
+			header.put(bytes);
+		}
+		return header.clear();
+	}
+
+	/**
+	 * Gets the names recorded in the header of a rocket's telemetry.
+	 * @param rocket The rocket.
+	 * @return The names of its thrusters, and then of its tanks' fuel types.
+	 */
+	static List<String> namesOf(Rocket rocket) {
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < rocket.getThrusterCount(); i++) {
+			names.add(rocket.getThruster(i).getName());
+		}
+		for (int i = 0; i < rocket.getFuelTankCount(); i++) {
+			names.add(rocket.getFuelTank(i).getType().getName());
+		}
+		return names;
+	}
+
+	/**
+	 * Creates a recorder which writes to the given file, replacing it if it
+	 * exists.
+	 * @param path The path of the telemetry file.
+	 * @param rocket The rocket that will be recorded.
+	 * @return The recorder.
+	 * @throws IOException If the file can't be created.
+	 */
+	public static FlightRecorder create(Path path, Rocket rocket) throws IOException {
+		var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			return new FlightRecorder(channel, TelemetryFormat.forRocket(rocket), namesOf(rocket));
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void mapRegion() throws IOException {
+		region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, (long) REGION_RECORDS * format.getRecordSize());
+		region.order(TelemetryFormat.BYTE_ORDER);
+		regionPosition = 0;
+	}
+
+	/**
+	 * Appends a record of the model's current state, unless the recorder has
+	 * been closed.
+	 * @param model The model to record.
+	 */
+	public void record(GameModel model) {
+		if (closed) return;
+		if (regionPosition == region.capacity()) {
+			regionStart += region.capacity();
+			try {
+				mapRegion();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		format.write(region, regionPosition, model);
+		regionPosition += format.getRecordSize();
+		recordCount++;
+		header.putLong(RECORD_COUNT_OFFSET, recordCount);
+	}
+
+	@Override
+	public void onTick(GameModel model) {
+		record(model);
+	}
+
+	/**
+	 * Flushes all records to disk, trims the unused part of the last mapped
+	 * region from the file, and closes it. This mustn't be called while a
+	 * record is being written, so the physics should be stopped first.
+	 * @throws IOException If the file can't be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) return;
+		closed = true;
+		region.force();
+		header.force();
+		region = null;
+		header = null;
+		try {
+			channel.truncate(dataOffset + recordCount * format.getRecordSize());
+		} catch (IOException e) {
+			// Some platforms won't shrink a file until its mappings have been
+			// garbage collected. The header's record count is still correct,
+			// so the unused space is just left at the end.
+		} finally {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package net.javadiscord.challenges.launch.telemetry;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.model.GameModel;
+
+/**
+ * Plays back a recorded flight by applying its records to a model, without
+ * running any physics. Playback can be paused, sped up or slowed down, and
+ * can seek instantly to any point in the recording.
+ */
+@Getter
+public class ReplayPlayer {
+	public static final double MIN_SPEED = 0.1;
+	public static final double MAX_SPEED = 100.0;
+
+	private final TelemetryFile file;
+	private final GameModel model;
+
+	/**
+	 * The simulated time of the recording that playback has reached.
+	 */
+	private double time;
+
+	/**
+	 * The index of the record currently applied to the model.
+	 */
+	private long index;
+	private double speed = 1.0;
+	private boolean paused;
+
+	/**
+	 * The simulated time at which the recorded rocket lifted off, or was due
+	 * to before its launch was aborted, used for seeking to T+ times. If a
+	 * launch was never scheduled, this is the time of the first record.
+	 */
+	private final double launchTime;
+
+	public ReplayPlayer(TelemetryFile file, GameModel model) {
+		if (file.getRecordCount() == 0) throw new IllegalArgumentException("The recording is empty.");
+		file.checkCompatible(model.getRocket());
+		this.file = file;
+		this.model = model;
+		this.launchTime = findLaunchTime(file);
+		seek(file.getTime(0));
+	}
+
+	/**
+	 * Finds when the last launch in a recording was due, from the last record
+	 * made while one was scheduled. Records made after an abort, or before
+	 * the launch sequence started, have no launch time to go by.
+	 */
+	private static double findLaunchTime(TelemetryFile file) {
+		for (long i = file.getRecordCount() - 1; i >= 0; i--) {
+			float timeSinceLaunch = file.getTimeSinceLaunch(i);
+			if (timeSinceLaunch >= -GameModel.LAUNCH_SEQUENCE_DURATION) {
+				return file.getTime(i) - timeSinceLaunch;
+			}
+		}
+		return file.getTime(0);
+	}
+
+	/**
+	 * Advances playback by some amount of real time, scaled by the playback
+	 * speed, and applies the record reached to the model.
+	 * @param realSeconds The real time that has passed, in seconds.
+	 */
+	public synchronized void advance(double realSeconds) {
+		if (paused || isFinished()) return;
+		time = Math.min(time + realSeconds * speed, getEndTime());
+		long end = Math.min(file.getRecordCount(), index + TelemetryFile.KEYFRAME_INTERVAL);
+		if (end < file.getRecordCount() && file.getTime(end) <= time) {
+			// Too far ahead to scan, so use the index instead.
+			index = file.indexAt(time);
+		} else {
+			while (index + 1 < end && file.getTime(index + 1) <= time) {
+				index++;
+			}
+		}
+		file.apply(index, model);
+	}
+
+	/**
+	 * Jumps to the given simulated time in the recording.
+	 * @param time The simulated time, in seconds.
+	 */
+	public synchronized void seek(double time) {
+		this.time = Math.min(Math.max(time, file.getTime(0)), getEndTime());
+		this.index = file.indexAt(this.time);
+		file.apply(index, model);
+	}
+
+	/**
+	 * Jumps to the given time since launch in the recording.
+	 * @param timeSinceLaunch The time since launch, in seconds.
+	 */
+	public void seekToTimeSinceLaunch(double timeSinceLaunch) {
+		seek(launchTime + timeSinceLaunch);
+	}
+
+	/**
+	 * Jumps forwards or backwards relative to the current time.
+	 * @param seconds The number of seconds to jump by.
+	 */
+	public synchronized void skip(double seconds) {
+		seek(time + seconds);
+	}
+
+	public synchronized void setSpeed(double speed) {
+		this.speed = Math.min(MAX_SPEED, Math.max(MIN_SPEED, speed));
+	}
+
+	public synchronized void setPaused(boolean paused) {
+		this.paused = paused;
+	}
+
+	public synchronized void togglePaused() {
+		this.paused = !paused;
+	}
+
+	public double getEndTime() {
+		return file.getTime(file.getRecordCount() - 1);
+	}
+
+	public synchronized boolean isFinished() {
+		return time >= getEndTime();
+	}
+}
@@ -0,0 +1,175 @@
+package net.javadiscord.challenges.launch.telemetry;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only access to a telemetry file written by a {@link FlightRecorder}.
+ * The file is memory-mapped in the same regions that it was written in, so
+ * recordings of any length can be read.
+ * <p>
+ *     When it's opened, a sparse index is built from the time of every
+ *     {@link #KEYFRAME_INTERVAL}th record, so that finding the record at any
+ *     time is a binary search over the keyframes followed by a short scan,
+ *     which stays fast even for multi-hour recordings.
+ * </p>
+ */
+public class TelemetryFile implements Closeable {
+	public static final int KEYFRAME_INTERVAL = 256;
+
+	private final FileChannel channel;
+	@Getter
+	private final TelemetryFormat format;
+	@Getter
+	private final long recordCount;
+	@Getter
+	private final List<String> thrusterNames;
+	@Getter
+	private final List<String> tankNames;
+	private final MappedByteBuffer[] regions;
+	private final double[] keyframeTimes;
+
+	private TelemetryFile(FileChannel channel) throws IOException {
+		this.channel = channel;
+		var fixedHeader = channel.map(FileChannel.MapMode.READ_ONLY, 0, FlightRecorder.NAMES_OFFSET);
+		fixedHeader.order(TelemetryFormat.BYTE_ORDER);
+		if (fixedHeader.getInt(FlightRecorder.MAGIC_OFFSET) != FlightRecorder.MAGIC) {
+			throw new IOException("Not a telemetry file.");
+		}
+		int version = fixedHeader.getInt(FlightRecorder.VERSION_OFFSET);
+		if (version != FlightRecorder.VERSION) {
+			throw new IOException("Unsupported telemetry file version " + version);
+		}
+		int thrusterCount = fixedHeader.getInt(FlightRecorder.THRUSTER_COUNT_OFFSET);
+		int tankCount = fixedHeader.getInt(FlightRecorder.TANK_COUNT_OFFSET);
+		this.format = new TelemetryFormat(thrusterCount, tankCount);
+		if (fixedHeader.getInt(FlightRecorder.RECORD_SIZE_OFFSET) != format.getRecordSize()) {
+			throw new IOException("Telemetry file has an unexpected record size.");
+		}
+		int dataOffset = fixedHeader.getInt(FlightRecorder.DATA_OFFSET_OFFSET);
+		long dataSize = channel.size() - dataOffset;
+		// A file that was never closed has trailing space in its last region.
+		this.recordCount = Math.min(fixedHeader.getLong(FlightRecorder.RECORD_COUNT_OFFSET), dataSize / format.getRecordSize());
+
+		var names = channel.map(FileChannel.MapMode.READ_ONLY, FlightRecorder.NAMES_OFFSET, dataOffset - FlightRecorder.NAMES_OFFSET);
+		names.order(TelemetryFormat.BYTE_ORDER);
+		this.thrusterNames = readNames(names, thrusterCount);
+		this.tankNames = readNames(names, tankCount);
+
+		long regionSize = (long) FlightRecorder.REGION_RECORDS * format.getRecordSize();
+		this.regions = new MappedByteBuffer[(int) ((recordCount + FlightRecorder.REGION_RECORDS - 1) / FlightRecorder.REGION_RECORDS)];
+		for (int i = 0; i < regions.length; i++) {
+			long start = dataOffset + i * regionSize;
+			regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, channel.size() - start));
+			regions[i].order(TelemetryFormat.BYTE_ORDER);
+		}
+
+		this.keyframeTimes = new double[(int) ((recordCount + KEYFRAME_INTERVAL - 1) / KEYFRAME_INTERVAL)];
+		for (int i = 0; i < keyframeTimes.length; i++) {
+			keyframeTimes[i] = getTime((long) i * KEYFRAME_INTERVAL);
+		}
+	}
+
+	public static TelemetryFile open(Path path) throws IOException {
+		var channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return new TelemetryFile(channel);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static List<String> readNames(ByteBuffer buffer, int count) {
+		List<String> names = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			byte[] bytes = new byte[buffer.getShort()];
+			buffer.get(bytes);
+			names.add(new String(bytes, StandardCharsets.UTF_8));
+		}
+		return List.copyOf(names);
+	}
+
+	/**
+	 * Checks that this file's thrusters and tanks match the given rocket's, so
+	 * that its records can be applied to it.
+	 * @param rocket The rocket to check.
+	 * @throws IllegalArgumentException If the rocket doesn't match.
+	 */
+	public void checkCompatible(Rocket rocket) {
+		if (rocket.getThrusterCount() != thrusterNames.size() || rocket.getFuelTankCount() != tankNames.size()) {
+			throw new IllegalArgumentException("The rocket's thrusters or tanks don't match the recording.");
+		}
+		for (int i = 0; i < thrusterNames.size(); i++) {
+			if (!rocket.getThruster(i).getName().equals(thrusterNames.get(i))) {
+				throw new IllegalArgumentException("Expected thruster " + thrusterNames.get(i) + " at index " + i);
+			}
+		}
+	}
+
+	private ByteBuffer region(long index) {
+		return regions[(int) (index / FlightRecorder.REGION_RECORDS)];
+	}
+
+	private int offset(long index) {
+		return (int) (index % FlightRecorder.REGION_RECORDS) * format.getRecordSize();
+	}
+
+	/**
+	 * Gets the simulated time of a record.
+	 * @param index The index of the record.
+	 * @return The simulated time, in seconds.
+	 */
+	public double getTime(long index) {
+		return format.readTime(region(index), offset(index));
+	}
+
+	public float getTimeSinceLaunch(long index) {
+		return format.readTimeSinceLaunch(region(index), offset(index));
+	}
+
+	/**
+	 * Applies the state of a record to a model.
+	 * @param index The index of the record.
+	 * @param model The model to apply it to.
+	 */
+	public void apply(long index, GameModel model) {
+		format.read(region(index), offset(index), model);
+	}
+
+	/**
+	 * Finds the last record at or before the given simulated time, using the
+	 * keyframe index.
+	 * @param time The simulated time, in seconds.
+	 * @return The index of the record, or 0 if the time is before the first
+	 * record.
+	 */
+	public long indexAt(double time) {
+		int keyframe = Arrays.binarySearch(keyframeTimes, time);
+		if (keyframe < 0) keyframe = Math.max(0, -keyframe - 2);
+		long index = (long) keyframe * KEYFRAME_INTERVAL;
+		long end = Math.min(recordCount, index + KEYFRAME_INTERVAL);
+		while (index + 1 < end && getTime(index + 1) <= time) {
+			index++;
+		}
+		return index;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
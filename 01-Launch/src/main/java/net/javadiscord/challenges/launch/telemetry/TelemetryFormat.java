@@ -0,0 +1,209 @@
+package net.javadiscord.challenges.launch.telemetry;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Describes the binary layout of telemetry records. Every record has the same
+ * width for a given rocket, and holds the complete dynamic state of the model
+ * at the end of one physics tick:
+ * <pre>
+ *  0  double  simulated time, in seconds
+ *  8  float   time since launch, in seconds
+ * 12  int     flags (bit 0 = launched, bit 1 = aborted)
+ * 16  float   position x, position y
+ * 24  float   velocity x, velocity y
+ * 32  float   orientation, angular velocity
+ * 40  long    bit mask of active thrusters, by thruster index
+ * 48  float   throttle and gimbal of each thruster, by thruster index
+ *  .. float   fuel stored in each tank, by tank index
+ * </pre>
+ * All values are little-endian. Records are written and read with absolute
+ * puts and gets, so encoding and decoding never allocate.
+ */
+@Getter
+public class TelemetryFormat {
+	public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	public static final int MAX_THRUSTERS = Long.SIZE;
+
+	private static final int TIME = 0;
+	private static final int TIME_SINCE_LAUNCH = 8;
+	private static final int FLAGS = 12;
+	private static final int POSITION = 16;
+	private static final int VELOCITY = 24;
+	private static final int ORIENTATION = 32;
+	private static final int ANGULAR_VELOCITY = 36;
+	private static final int ACTIVE_MASK = 40;
+	private static final int THRUSTERS = 48;
+
+	private static final int FLAG_LAUNCHED = 1;
+	private static final int FLAG_ABORTED = 2;
+
+	private final int thrusterCount;
+	private final int tankCount;
+	private final int recordSize;
+
+	public TelemetryFormat(int thrusterCount, int tankCount) {
+		if (thrusterCount > MAX_THRUSTERS) {
+			throw new IllegalArgumentException("At most " + MAX_THRUSTERS + " thrusters can be recorded.");
+		}
+		this.thrusterCount = thrusterCount;
+		this.tankCount = tankCount;
+		this.recordSize = THRUSTERS + thrusterCount * 2 * Float.BYTES + tankCount * Float.BYTES;
+	}
+
+	public static TelemetryFormat forRocket(Rocket rocket) {
+		return new TelemetryFormat(rocket.getThrusterCount(), rocket.getFuelTankCount());
+	}
+
+	/**
+	 * Writes a record of the model's current state.
+	 * @param buffer The buffer to write to. It must use {@link #BYTE_ORDER}.
+	 * @param offset The offset in the buffer at which to write the record.
+	 * @param model The model to record.
+	 */
+	public void write(ByteBuffer buffer, int offset, GameModel model) {
+		var rocket = model.getRocket();
+		int flags = (model.isLaunched() ? FLAG_LAUNCHED : 0) | (model.isAborted() ? FLAG_ABORTED : 0);
+		buffer.putDouble(offset + TIME, model.getTime());
+		buffer.putFloat(offset + TIME_SINCE_LAUNCH, model.getTimeSinceLaunch());
+		buffer.putInt(offset + FLAGS, flags);
+		buffer.putFloat(offset + POSITION, rocket.getPosition().x);
+		buffer.putFloat(offset + POSITION + 4, rocket.getPosition().y);
+		buffer.putFloat(offset + VELOCITY, rocket.getVelocity().x);
+		buffer.putFloat(offset + VELOCITY + 4, rocket.getVelocity().y);
+		buffer.putFloat(offset + ORIENTATION, rocket.getOrientation());
+		buffer.putFloat(offset + ANGULAR_VELOCITY, rocket.getAngularVelocity());
+		long activeMask = 0;
+		int position = offset + THRUSTERS;
+		for (int i = 0; i < thrusterCount; i++) {
+			var thruster = rocket.getThruster(i);
+			if (thruster.isActive()) activeMask |= 1L << i;
+			buffer.putFloat(position, thruster.getThrottle());
+			buffer.putFloat(position + 4, thruster.getGimbal());
+			position += 2 * Float.BYTES;
+		}
+		buffer.putLong(offset + ACTIVE_MASK, activeMask);
+		for (int i = 0; i < tankCount; i++) {
+			buffer.putFloat(position, rocket.getFuelTank(i).getStored());
+			position += Float.BYTES;
+		}
+	}
+
+	/**
+	 * Reads a record, and applies its state to the given model.
+	 * @param buffer The buffer to read from. It must use {@link #BYTE_ORDER}.
+	 * @param offset The offset in the buffer of the record.
+	 * @param model The model to apply the record to.
+	 */
+	public void read(ByteBuffer buffer, int offset, GameModel model) {
+		var rocket = model.getRocket();
+		int flags = buffer.getInt(offset + FLAGS);
+		model.restoreClock(
+				buffer.getDouble(offset + TIME),
+				buffer.getFloat(offset + TIME_SINCE_LAUNCH),
+				(flags & FLAG_LAUNCHED) != 0,
+				(flags & FLAG_ABORTED) != 0
+		);
+		rocket.getPosition().x = buffer.getFloat(offset + POSITION);
+		rocket.getPosition().y = buffer.getFloat(offset + POSITION + 4);
+		rocket.getVelocity().x = buffer.getFloat(offset + VELOCITY);
+		rocket.getVelocity().y = buffer.getFloat(offset + VELOCITY + 4);
+		rocket.setOrientation(buffer.getFloat(offset + ORIENTATION));
+		rocket.setAngularVelocity(buffer.getFloat(offset + ANGULAR_VELOCITY));
+		long activeMask = buffer.getLong(offset + ACTIVE_MASK);
+		int position = offset + THRUSTERS;
+		for (int i = 0; i < thrusterCount; i++) {
+			var thruster = rocket.getThruster(i);
+			thruster.setActive((activeMask & (1L << i)) != 0);
+			thruster.setThrottle(buffer.getFloat(position));
+			thruster.setGimbal(buffer.getFloat(position + 4));
+			position += 2 * Float.BYTES;
+		}
+		for (int i = 0; i < tankCount; i++) {
+			rocket.getFuelTank(i).setStored(buffer.getFloat(position));
+			position += Float.BYTES;
+		}
+		model.updateEnvironment();
+	}
+
+	/**
+	 * Reads the simulated time of a record.
+	 * @param buffer The buffer to read from.
+	 * @param offset The offset of the record.
+	 * @return The simulated time, in seconds.
+	 */
+	public double readTime(ByteBuffer buffer, int offset) {
+		return buffer.getDouble(offset + TIME);
+	}
+
+	public float readTimeSinceLaunch(ByteBuffer buffer, int offset) {
+		return buffer.getFloat(offset + TIME_SINCE_LAUNCH);
+	}
+
+	public boolean readLaunched(ByteBuffer buffer, int offset) {
+		return (buffer.getInt(offset + FLAGS) & FLAG_LAUNCHED) != 0;
+	}
+
+	public boolean readAborted(ByteBuffer buffer, int offset) {
+		return (buffer.getInt(offset + FLAGS) & FLAG_ABORTED) != 0;
+	}
+
+	public float readPositionX(ByteBuffer buffer, int offset) {
+		return buffer.getFloat(offset + POSITION);
+	}
+
+	public float readPositionY(ByteBuffer buffer, int offset) {
+		return buffer.getFloat(offset + POSITION + 4);
+	}
+
+	public float readVelocityX(ByteBuffer buffer, int offset) {
+		return buffer.getFloat(offset + VELOCITY);
+	}
+
+	public float readVelocityY(ByteBuffer buffer, int offset) {
+		return buffer.getFloat(offset + VELOCITY + 4);
+	}
+
+	public float readOrientation(ByteBuffer buffer, int offset) {
+		return buffer.getFloat(offset + ORIENTATION);
+	}
+
+	public float readAngularVelocity(ByteBuffer buffer, int offset) {
+		return buffer.getFloat(offset + ANGULAR_VELOCITY);
+	}
+
+	/**
+	 * Reads whether a thruster was active.
+	 * @param buffer The buffer to read from.
+	 * @param offset The offset of the record.
+	 * @param thruster The index of the thruster.
+	 * @return True if the thruster was active.
+	 */
+	public boolean readActive(ByteBuffer buffer, int offset, int thruster) {
+		return (buffer.getLong(offset + ACTIVE_MASK) & (1L << thruster)) != 0;
+	}
+
+	public float readThrottle(ByteBuffer buffer, int offset, int thruster) {
+		return buffer.getFloat(offset + THRUSTERS + thruster * 2 * Float.BYTES);
+	}
+
+	public float readGimbal(ByteBuffer buffer, int offset, int thruster) {
+		return buffer.getFloat(offset + THRUSTERS + thruster * 2 * Float.BYTES + 4);
+	}
+
+	/**
+	 * Reads the fuel stored in a tank.
+	 * @param buffer The buffer to read from.
+	 * @param offset The offset of the record.
+	 * @param tank The index of the tank.
+	 * @return The fuel stored, in Kg.
+	 */
+	public float readStored(ByteBuffer buffer, int offset, int tank) {
+		return buffer.getFloat(offset + THRUSTERS + thrusterCount * 2 * Float.BYTES + tank * Float.BYTES);
+	}
+}
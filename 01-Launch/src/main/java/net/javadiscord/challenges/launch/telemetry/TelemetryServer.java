@@ -0,0 +1,386 @@
+package net.javadiscord.challenges.launch.telemetry;
+
+import lombok.Getter;
+import net.javadiscord.challenges.launch.control.TickListener;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams live telemetry to any number of TCP clients, such as external
+ * dashboards. Every client is first sent the same header as a telemetry
+ * file, with a record count of 0, followed by a {@link TelemetryFormat}
+ * record for every published tick, so a client can decode the stream the
+ * same way as a file.
+ * <p>
+ *     The physics thread only ever writes a record into a shared ring of
+ *     {@link #RING_FRAMES} frames and wakes the server's thread, so it never
+ *     blocks, however slow the clients are. The server's thread serves all
+ *     clients from a single selector. It copies each new frame into every
+ *     client's own buffer of {@link #CLIENT_FRAMES} frames, and writes as
+ *     much of that as the client's socket will take. When a client falls so
+ *     far behind that its buffer is full, the frames it hasn't started
+ *     receiving yet are dropped, so that it's down-sampled to whatever rate
+ *     it can keep up with, while always getting the latest frames. A client
+ *     which takes nothing at all for {@link #STALL_TIMEOUT_NANOS} is
+ *     disconnected.
+ * </p>
+ */
+public class TelemetryServer implements TickListener, Closeable {
+	/**
+	 * The number of frames in the ring shared with the physics thread.
+	 */
+	public static final int RING_FRAMES = 256;
+
+	/**
+	 * The number of frames buffered for each client.
+	 */
+	public static final int CLIENT_FRAMES = 64;
+
+	public static final long STALL_TIMEOUT_NANOS = 10_000_000_000L;
+
+	/**
+	 * The number of frames to size each client socket's send buffer for,
+	 * though the operating system may round this up.
+	 */
+	private static final int SOCKET_FRAMES = 16;
+
+	@Getter
+	private final TelemetryFormat format;
+	private final ByteBuffer header;
+	private final int interval;
+
+	private final ServerSocketChannel serverChannel;
+	private final Selector selector;
+	private final Thread thread;
+	private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+	/**
+	 * The frames published by the physics thread. The frame for sequence
+	 * number n is at slot n % {@link #RING_FRAMES}.
+	 */
+	private final ByteBuffer ring;
+
+	/**
+	 * The number of frames published so far. A frame's slot is written
+	 * before this is incremented past it.
+	 */
+	private volatile long published;
+	private long ticks;
+
+	// State of the server's thread.
+	private final List<Client> clients = new ArrayList<>();
+	private final byte[] frame;
+	private long nextFrame;
+
+	/**
+	 * The number of frames which the server's thread fell too far behind the
+	 * physics to send to anyone.
+	 */
+	@Getter
+	private volatile long missedFrames;
+
+	/**
+	 * The total number of frames dropped for slow clients.
+	 */
+	@Getter
+	private volatile long droppedFrames;
+
+	/**
+	 * The number of published frames which every client had been sent in
+	 * full, or had dropped, as of the server thread's last pass.
+	 */
+	private volatile long flushedFrames;
+
+	private TelemetryServer(ServerSocketChannel serverChannel, Rocket rocket, int interval) throws IOException {
+		this.format = TelemetryFormat.forRocket(rocket);
+		this.header = FlightRecorder.encodeHeader(format, FlightRecorder.namesOf(rocket)).asReadOnlyBuffer();
+		this.interval = interval;
+		this.serverChannel = serverChannel;
+		this.ring = ByteBuffer.allocateDirect(RING_FRAMES * format.getRecordSize()).order(TelemetryFormat.BYTE_ORDER);
+		this.frame = new byte[format.getRecordSize()];
+		this.selector = Selector.open();
+		serverChannel.configureBlocking(false);
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		this.thread = new Thread(this::serve, "Telemetry Server");
+		thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts a server for a rocket's telemetry.
+	 * @param address The address to listen on.
+	 * @param rocket The rocket whose telemetry will be published.
+	 * @param interval The number of ticks per published frame, to reduce the
+	 *                 rate of a fast simulation.
+	 * @return The server, which must be added as a tick listener to publish
+	 * anything.
+	 * @throws IOException If the server can't listen on the address.
+	 */
+	public static TelemetryServer start(InetSocketAddress address, Rocket rocket, int interval) throws IOException {
+		if (interval < 1) throw new IllegalArgumentException("The interval must be at least one tick.");
+		var serverChannel = ServerSocketChannel.open();
+		try {
+			serverChannel.bind(address);
+			var server = new TelemetryServer(serverChannel, rocket, interval);
+			server.thread.start();
+			return server;
+		} catch (IOException | RuntimeException e) {
+			serverChannel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return The address the server is listening on.
+	 */
+	public InetSocketAddress getAddress() {
+		try {
+			return (InetSocketAddress) serverChannel.getLocalAddress();
+		} catch (IOException e) {
+			throw new IllegalStateException("The server is closed.", e);
+		}
+	}
+
+	/**
+	 * @return The number of frames published so far.
+	 */
+	public long getPublishedFrames() {
+		return published;
+	}
+
+	/**
+	 * Publishes a frame of the model's current state, if this tick is due
+	 * for one. This only writes to memory, and wakes the server's thread at
+	 * most once until it's next woken up, so it never waits for it.
+	 * @param model The model to publish.
+	 */
+	@Override
+	public void onTick(GameModel model) {
+		if (ticks++ % interval != 0) return;
+		long sequence = published;
+		format.write(ring, (int) (sequence % RING_FRAMES) * format.getRecordSize(), model);
+		published = sequence + 1;
+		if (!wakeUpPending.get() && wakeUpPending.compareAndSet(false, true)) {
+			selector.wakeup();
+		}
+	}
+
+	private void serve() {
+		try {
+			while (selector.isOpen()) {
+				selector.select();
+				wakeUpPending.set(false);
+				for (var key : selector.selectedKeys()) {
+					if (!key.isValid()) continue;
+					if (key.isAcceptable()) {
+						accept();
+					} else if (key.isReadable()) {
+						((Client) key.attachment()).discardInput();
+					}
+				}
+				selector.selectedKeys().clear();
+				distributeFrames();
+				long now = System.nanoTime();
+				boolean flushed = true;
+				for (int i = clients.size() - 1; i >= 0; i--) {
+					var client = clients.get(i);
+					if (!client.flush(now)) {
+						client.close();
+						clients.remove(i);
+					} else {
+						flushed &= !client.isWaiting();
+					}
+				}
+				if (flushed) flushedFrames = nextFrame;
+			}
+		} catch (ClosedSelectorException e) {
+			// The server was closed.
+		} catch (IOException e) {
+			System.err.println("Telemetry server failed: " + e.getMessage());
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel;
+		while ((channel = serverChannel.accept()) != null) {
+			channel.configureBlocking(false);
+			// Keep the socket's own buffer small, so that a slow client's
+			// frames wait in its buffer here, where they can be dropped.
+			channel.setOption(StandardSocketOptions.SO_SNDBUF, SOCKET_FRAMES * format.getRecordSize());
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			var client = new Client(channel);
+			client.key = channel.register(selector, SelectionKey.OP_READ, client);
+			clients.add(client);
+		}
+	}
+
+	/**
+	 * Copies every frame published since the last call into every client's
+	 * buffer. A frame is copied out of the ring before it's handed to the
+	 * clients, and only used if the physics thread can't have started
+	 * overwriting it in the meantime.
+	 */
+	private void distributeFrames() {
+		long end = published;
+		if (end - nextFrame > RING_FRAMES) {
+			missedFrames += end - RING_FRAMES - nextFrame;
+			nextFrame = end - RING_FRAMES;
+		}
+		for (; nextFrame < end; nextFrame++) {
+			ring.get((int) (nextFrame % RING_FRAMES) * format.getRecordSize(), frame);
+			VarHandle.acquireFence();
+			if (published - nextFrame >= RING_FRAMES) {
+				missedFrames++;
+				continue;
+			}
+			for (var client : clients) {
+				client.offer(frame);
+			}
+		}
+	}
+
+	/**
+	 * Waits for every client to be sent the frames published so far, then
+	 * closes the server, so that clients see the end of the stream after the
+	 * last frame. This must only be called once nothing is being published.
+	 * @param timeoutMillis The longest to wait for slow clients, after which
+	 *                      any still waiting are cut off.
+	 * @throws IOException If the server's socket can't be closed.
+	 */
+	public void close(long timeoutMillis) throws IOException {
+		long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+		selector.wakeup();
+		try {
+			while (flushedFrames < published && thread.isAlive() && System.nanoTime() < deadline) {
+				Thread.sleep(1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		close();
+	}
+
+	/**
+	 * Stops accepting clients, disconnects all of them, and stops the
+	 * server's thread. Frames not yet sent are lost.
+	 * @throws IOException If the server's socket can't be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		selector.close();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (var client : clients) {
+			client.close();
+		}
+		clients.clear();
+		serverChannel.close();
+	}
+
+	/**
+	 * A connected client, and the data waiting to be sent to it.
+	 */
+	private class Client {
+		private final SocketChannel channel;
+		private final ByteBuffer header = TelemetryServer.this.header.duplicate();
+
+		/**
+		 * The frames waiting to be sent, between its position and limit. All
+		 * but the first are whole frames.
+		 */
+		private final ByteBuffer pending = ByteBuffer.allocateDirect(CLIENT_FRAMES * format.getRecordSize()).flip();
+		private final ByteBuffer[] buffers = {header, pending};
+		private final ByteBuffer discard = ByteBuffer.allocate(256);
+		private SelectionKey key;
+		private long lastProgress = System.nanoTime();
+
+		Client(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		/**
+		 * Queues a frame, first dropping any queued frames that haven't
+		 * started to be sent, if there's no room for it.
+		 */
+		void offer(byte[] frame) {
+			if (pending.capacity() - pending.remaining() < frame.length) {
+				int started = pending.remaining() % frame.length;
+				droppedFrames += pending.remaining() / frame.length;
+				pending.limit(pending.position() + started);
+			}
+			pending.compact().put(frame).flip();
+		}
+
+		/**
+		 * Writes as much as the socket will take without blocking.
+		 * @param now The current time, from {@link System#nanoTime()}.
+		 * @return False if the client should be disconnected.
+		 */
+		boolean flush(long now) {
+			if (!key.isValid()) return false;
+			if (!header.hasRemaining() && !pending.hasRemaining()) {
+				lastProgress = now;
+				return true;
+			}
+			try {
+				if (channel.write(buffers) > 0) lastProgress = now;
+			} catch (IOException e) {
+				return false;
+			}
+			boolean waiting = isWaiting();
+			key.interestOps(waiting ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+			return !waiting || now - lastProgress < STALL_TIMEOUT_NANOS;
+		}
+
+		boolean isWaiting() {
+			return header.hasRemaining() || pending.hasRemaining();
+		}
+
+		/**
+		 * Reads and ignores anything the client sends, and closes it once it
+		 * has disconnected.
+		 */
+		void discardInput() {
+			try {
+				int read;
+				while ((read = channel.read(discard.clear())) > 0) {
+					// Clients have nothing to say.
+				}
+				if (read < 0) key.cancel();
+			} catch (IOException e) {
+				key.cancel();
+			}
+		}
+
+		void close() {
+			key.cancel();
+			try {
+				if (isWaiting()) {
+					// Reset the connection, rather than leave the client
+					// with a partial frame and no end to the stream.
+					channel.setOption(StandardSocketOptions.SO_LINGER, 0);
+				}
+				channel.close();
+			} catch (IOException e) {
+				// Nothing more to do with it.
+			}
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package net.javadiscord.challenges.launch.view;
 
+import lombok.Getter;
 import net.javadiscord.challenges.launch.control.GameUpdater;
+import net.javadiscord.challenges.launch.control.SnapshotPublisher;
+import net.javadiscord.challenges.launch.control.World;
 import net.javadiscord.challenges.launch.model.GameModel;
 
 import javax.swing.*;
@@ -9,59 +12,87 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.List;
 
 public class GameFrame extends JFrame {
+	@Getter
+	private final GameUpdater updater;
 
 	public GameFrame(GameModel model) {
+		this(new World(List.of(model)));
+	}
+
+	/**
+	 * Creates a frame which follows the world's first vehicle, and draws any
+	 * others that come into view.
+	 * @param world The world to fly.
+	 */
+	public GameFrame(World world) {
 		super("Launch");
 		setPreferredSize(new Dimension(800, 600));
 		setDefaultCloseOperation(DISPOSE_ON_CLOSE);
-		var panel = new GamePanel(model);
-		setContentPane(panel);
+		updater = new GameUpdater(world);
+		var model = world.getVehicle(0);
+		var snapshots = new SnapshotPublisher(model);
+		updater.getPhysics().addTickListener(snapshots);
+		var panel = new GamePanel(model, snapshots);
+		for (int i = 1; i < world.getVehicleCount(); i++) {
+			var vehicle = world.getVehicle(i);
+			var vehicleSnapshots = new SnapshotPublisher(vehicle);
+			world.getPhysics(i).addTickListener(vehicleSnapshots);
+			panel.addVehicle(vehicle, vehicleSnapshots);
+		}
+		add(panel);
 		pack();
 		setLocationRelativeTo(null);
 
-		var updater = new GameUpdater(model, panel);
 		updater.start();
+		var renderLoop = new RenderLoop(panel);
+		renderLoop.start();
 		addWindowListener(new WindowAdapter() {
 			@Override
 			public void windowClosing(WindowEvent e) {
 				updater.setRunning(false);
+				renderLoop.setRunning(false);
+				System.out.print(updater.getReport());
 			}
 		});
 
+		// Input is applied by the physics thread at the start of its next tick.
+		// Launching and aborting apply to every vehicle, and RCS only to the
+		// one being followed.
 		addKeyListener(new KeyAdapter() {
 			@Override
 			public void keyPressed(KeyEvent e) {
 				if (e.getKeyCode() == KeyEvent.VK_SPACE) {
-					model.startLaunch();
+					world.getVehicles().forEach(v -> v.submit(GameModel::startLaunch));
 				} else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
-					model.abortLaunch();
-				} else if (e.getKeyCode() == KeyEvent.VK_A) {
-					model.getRocket().getThrusterByName("RCS Top Right").setActive(true);
-					model.getRocket().getThrusterByName("RCS Bottom Left").setActive(true);
-				} else if (e.getKeyCode() == KeyEvent.VK_D) {
-					model.getRocket().getThrusterByName("RCS Top Left").setActive(true);
-					model.getRocket().getThrusterByName("RCS Bottom Right").setActive(true);
-				} else if (e.getKeyCode() == KeyEvent.VK_W) {
-					model.getRocket().doForAllThrusters("RCS Backward", t -> t.setActive(true));
-				} else if (e.getKeyCode() == KeyEvent.VK_S) {
-					model.getRocket().doForAllThrusters("RCS Forward", t -> t.setActive(true));
+					world.getVehicles().forEach(v -> v.submit(GameModel::abortLaunch));
+				} else {
+					setRcs(e.getKeyCode(), true);
 				}
 			}
 
 			@Override
 			public void keyReleased(KeyEvent e) {
-				if (e.getKeyCode() == KeyEvent.VK_A) {
-					model.getRocket().getThrusterByName("RCS Top Right").setActive(false);
-					model.getRocket().getThrusterByName("RCS Bottom Left").setActive(false);
-				} else if (e.getKeyCode() == KeyEvent.VK_D) {
-					model.getRocket().getThrusterByName("RCS Top Left").setActive(false);
-					model.getRocket().getThrusterByName("RCS Bottom Right").setActive(false);
-				} else if (e.getKeyCode() == KeyEvent.VK_W) {
-					model.getRocket().doForAllThrusters("RCS Backward", t -> t.setActive(false));
-				} else if (e.getKeyCode() == KeyEvent.VK_S) {
-					model.getRocket().doForAllThrusters("RCS Forward", t -> t.setActive(false));
+				setRcs(e.getKeyCode(), false);
+			}
+
+			private void setRcs(int keyCode, boolean active) {
+				if (keyCode == KeyEvent.VK_A) {
+					model.submit(m -> {
+						m.getRocket().getThrusterByName("RCS Top Right").setActive(active);
+						m.getRocket().getThrusterByName("RCS Bottom Left").setActive(active);
+					});
+				} else if (keyCode == KeyEvent.VK_D) {
+					model.submit(m -> {
+						m.getRocket().getThrusterByName("RCS Top Left").setActive(active);
+						m.getRocket().getThrusterByName("RCS Bottom Right").setActive(active);
+					});
+				} else if (keyCode == KeyEvent.VK_W) {
+					model.submit(m -> m.getRocket().getThrusterGroup("RCS Backward").setActive(active));
+				} else if (keyCode == KeyEvent.VK_S) {
+					model.submit(m -> m.getRocket().getThrusterGroup("RCS Forward").setActive(active));
 				}
 			}
 		});
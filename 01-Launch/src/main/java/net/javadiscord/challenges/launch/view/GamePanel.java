@@ -1,139 +1,265 @@
 package net.javadiscord.challenges.launch.view;
 
+import net.javadiscord.challenges.launch.control.SnapshotPublisher;
 import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.ModelSnapshot;
+import net.javadiscord.challenges.launch.model.Rocket;
 import net.javadiscord.challenges.launch.model.Vec2;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferStrategy;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.stream.IntStream;
 
-public class GamePanel extends JPanel {
+/**
+ * Displays the game. Rather than waiting for Swing to repaint it, this is
+ * actively rendered by a {@link RenderLoop} into a {@link BufferStrategy},
+ * which is backed by accelerated volatile images where available.
+ * <p>
+ *     Every shape is built once up front, and only placed with transforms
+ *     each frame. The stats text is only re-formatted when the value it
+ *     shows changes at the precision it's displayed with.
+ * </p>
+ * <p>
+ *     The changing state of the model is only ever read from the snapshots
+ *     published by the physics thread, so that each frame shows a single
+ *     consistent state, interpolated between the last two ticks. Only the
+ *     rocket's fixed layout is read from the model itself.
+ * </p>
+ */
+public class GamePanel extends Canvas {
 	private static final Font STATS_FONT = new Font("Monospaced", Font.PLAIN, 14);
 	private static final float SCALE = 10.0f; // Pixels per meter scale.
+	private static final BasicStroke STROKE = new BasicStroke(0.1f);
+	private static final Color ROCKET_COLOR = Color.RED.darker();
+	private static final Color OTHER_ROCKET_COLOR = new Color(110, 110, 130);
+	private static final Shape NOZZLE = triangle(-0.5f, -0.5f, 0, 0.5f, 0.5f, -0.5f);
+
+	/**
+	 * The exhaust flame, with its base at the origin and a length of 1, so it
+	 * can be stretched to flicker.
+	 */
+	private static final Shape EXHAUST = triangle(-0.5f, 0, 0, -1, 0.5f, 0);
+
 	private boolean drawDebug = false;
 
-	private final GameModel model;
+	private final Rocket rocket;
+
+	/**
+	 * The vehicle that the view follows, and any others flying with it.
+	 */
+	private final VehicleView focus;
+	private VehicleView[] others = new VehicleView[0];
+
+	/**
+	 * The rocket's tank indices, sorted by fuel name.
+	 */
+	private final int[] sortedTanks;
+
+	// Scratch state, reused every frame.
+	private final AffineTransform txRocket = new AffineTransform();
+	private final AffineTransform txThruster = new AffineTransform();
+	private final Rectangle2D.Float ground = new Rectangle2D.Float();
+	private final Path2D.Float debugPath = new Path2D.Float();
+
+	private final CachedText altitudeText = new CachedText("Altitude: %.3f Km", 1000);
+	private final CachedText longitudeText = new CachedText("Longitude: %.3f Km", 1000);
+	private final CachedText velocityText = new CachedText("Velocity: (vert = %.3f m/s, long = %.3f m/s)", 1000);
+	private final CachedText pitchText = new CachedText("Pitch: %.2f degrees", 100);
+	private final CachedText massText = new CachedText("Mass: %.2f Kg", 100);
+	private final CachedText gravityText = new CachedText("Effective Gravity: %.3f m/s^2", 1000);
+	private final CachedText[] tankTexts;
+	private final CachedText launchTimeText = new CachedText("T+%.3f seconds", 1000);
+	private final CachedText countdownText = new CachedText("T%.3f seconds", 1000);
+
+	/**
+	 * @param model The model to display.
+	 * @param snapshots The publisher of the model's state.
+	 */
+	public GamePanel(GameModel model, SnapshotPublisher snapshots) {
+		this.rocket = model.getRocket();
+		this.focus = new VehicleView(model, snapshots);
+		setIgnoreRepaint(true);
+		setFocusable(false);
+		setBackground(Color.BLACK);
+
+		this.sortedTanks = IntStream.range(0, rocket.getFuelTankCount()).boxed()
+				.sorted(Comparator.comparing(i -> rocket.getFuelTank(i).getType().getName()))
+				.mapToInt(Integer::intValue)
+				.toArray();
+		this.tankTexts = IntStream.of(sortedTanks)
+				.mapToObj(i -> new CachedText(rocket.getFuelTank(i).getType().getName().replace("%", "%%") + ": %.2f Kg, %.2f %%", 100))
+				.toArray(CachedText[]::new);
+	}
+
+	/**
+	 * Adds another vehicle to draw alongside the one being followed,
+	 * whenever it's in view. This must be called before rendering starts.
+	 * @param model The vehicle's model.
+	 * @param snapshots The publisher of the vehicle's state.
+	 */
+	public void addVehicle(GameModel model, SnapshotPublisher snapshots) {
+		others = Arrays.copyOf(others, others.length + 1);
+		others[others.length - 1] = new VehicleView(model, snapshots);
+	}
 
-	public GamePanel(GameModel model) {
-		this.model = model;
+	private static Shape triangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+		Path2D.Float path = new Path2D.Float();
+		path.moveTo(x1, y1);
+		path.lineTo(x2, y2);
+		path.lineTo(x3, y3);
+		path.closePath();
+		return path;
 	}
 
+	/**
+	 * Renders one frame into this canvas's buffer strategy and shows it. This
+	 * should only be called from a single rendering thread.
+	 */
+	public void renderFrame() {
+		if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) return;
+		BufferStrategy strategy = getBufferStrategy();
+		if (strategy == null) {
+			createBufferStrategy(2);
+			strategy = getBufferStrategy();
+		}
+		do {
+			do {
+				Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+				try {
+					render(g, getWidth(), getHeight());
+				} finally {
+					g.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+	}
+
+	/**
+	 * Does nothing, since the render loop is the only reader of snapshots,
+	 * and will draw the next frame shortly anyway.
+	 */
 	@Override
-	protected void paintComponent(Graphics g) {
-		super.paintComponent(g);
-		Graphics2D g2 = (Graphics2D) g;
-		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
-		g2.setColor(Color.BLACK);
-		g2.fillRect(0, 0, this.getWidth(), this.getHeight());
-		g2.setColor(model.getSkyColor());
-		g2.fillRect(0, 0, this.getWidth(), this.getHeight());
-
-		drawWorld(g2);
-		drawRocket(g2);
-		drawStats(g2);
+	public void paint(Graphics g) {}
+
+	/**
+	 * Renders the game into any graphics context, such as an offscreen image.
+	 * This must always be called from the same thread, as it acquires the
+	 * latest snapshot.
+	 * @param g The graphics to render with.
+	 * @param width The width of the area to render, in pixels.
+	 * @param height The height of the area to render, in pixels.
+	 */
+	public void render(Graphics2D g, int width, int height) {
+		long now = System.nanoTime();
+		ModelSnapshot state = focus.interpolator.next(now);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, width, height);
+		g.setColor(GameModel.getSkyColor(state.getAtmosphericDensity()));
+		g.fillRect(0, 0, width, height);
+
+		drawWorld(g, state, width, height);
+		drawOthers(g, state, now, width, height);
+		drawRocket(g, focus, state, width / 2.0, height / 2.0, ROCKET_COLOR, drawDebug);
+		drawStats(g, state, height);
 	}
 
-	private void drawStats(Graphics2D g) {
+	private void drawStats(Graphics2D g, ModelSnapshot state, int height) {
 		g.setColor(Color.WHITE);
 		g.setFont(STATS_FONT);
-		g.drawString(String.format("Altitude: %.3f Km", model.getRocket().getAltitude() / 1000.0f), 10, 15);
-		g.drawString(String.format("Longitude: %.3f Km", model.getRocket().getLongitude() / 1000.0f), 10, 30);
-		g.drawString(String.format("Velocity: (vert = %.3f m/s, long = %.3f m/s)", model.getRocket().getVelocity().y, model.getRocket().getVelocity().x), 10, 45);
-		g.drawString(String.format("Pitch: %.2f degrees", model.getRocket().getOrientationDegrees()), 10, 60);
-		g.drawString(String.format("Mass: %.2f Kg", model.getRocket().getMass()), 10, 75);
-		g.drawString(String.format("Effective Gravity: %.3f m/s^2", model.getEffectiveAccelerationDueToGravity()), 10, 90);
+		g.drawString(altitudeText.get(state.getAltitude() / 1000.0f), 10, 15);
+		g.drawString(longitudeText.get(state.getLongitude() / 1000.0f), 10, 30);
+		g.drawString(velocityText.get(state.getVelocityY(), state.getVelocityX()), 10, 45);
+		g.drawString(pitchText.get(state.getOrientationDegrees()), 10, 60);
+		g.drawString(massText.get(state.getMass()), 10, 75);
+		g.drawString(gravityText.get(state.getEffectiveGravity()), 10, 90);
 		g.drawString("Fuel:", 10, 105);
-		var tankData = model.getRocket().getFuelTanks().stream()
-				.sorted(Comparator.comparing(t -> t.getType().getName()))
-				.map(tank -> String.format("%s: %.2f Kg, %.2f %%", tank.getType().getName(), tank.getStored(), tank.getStored() * 100 / tank.getCapacity()))
-				.toList();
-		for (int i = 0; i < tankData.size(); i++) {
-			g.drawString(tankData.get(i), 15, i * 15 + 120);
+		for (int i = 0; i < sortedTanks.length; i++) {
+			float stored = state.getTankStored(sortedTanks[i]);
+			float capacity = rocket.getFuelTank(sortedTanks[i]).getCapacity();
+			g.drawString(tankTexts[i].get(stored, stored * 100 / capacity), 15, i * 15 + 120);
+		}
+		float t = state.getTimeSinceLaunch();
+		g.drawString((t > 0 ? launchTimeText : countdownText).get(t), 10, height - 15);
+	}
+
+	/**
+	 * Draws the other vehicles, relative to the one being followed, skipping
+	 * any which are entirely out of view.
+	 */
+	private void drawOthers(Graphics2D g, ModelSnapshot focusState, long now, int width, int height) {
+		for (var view : others) {
+			var state = view.interpolator.next(now);
+			float dx = state.getPositionX() - focusState.getPositionX();
+			if (dx > GameModel.EARTH_CIRCUMFERENCE / 2) dx -= GameModel.EARTH_CIRCUMFERENCE;
+			if (dx < -GameModel.EARTH_CIRCUMFERENCE / 2) dx += GameModel.EARTH_CIRCUMFERENCE;
+			double x = width / 2.0 + dx * SCALE;
+			double y = height / 2.0 - (state.getPositionY() - focusState.getPositionY()) * SCALE;
+			if (x < -view.cullRadius || x > width + view.cullRadius || y < -view.cullRadius || y > height + view.cullRadius) {
+				continue;
+			}
+			drawRocket(g, view, state, x, y, OTHER_ROCKET_COLOR, false);
 		}
-		float t = model.getTimeSinceLaunch();
-		g.drawString(String.format("T%s%.3f seconds", t > 0 ? "+" : "", t), 10, getHeight() - 15);
 	}
 
-	private void drawRocket(Graphics2D g) {
-		g.setStroke(new BasicStroke(0.1f));
+	private void drawRocket(Graphics2D g, VehicleView view, ModelSnapshot state, double x, double y, Color color, boolean drawDebug) {
+		var rocket = view.rocket;
+		g.setStroke(STROKE);
 		var txOriginal = g.getTransform();
-		AffineTransform txRocket = new AffineTransform(txOriginal);
-		txRocket.translate(getWidth() / 2.0, getHeight() / 2.0);
-		txRocket.rotate(-model.getRocket().getOrientation() + Math.PI / 2);
+		txRocket.setTransform(txOriginal);
+		txRocket.translate(x, y);
+		txRocket.rotate(-state.getOrientation() + Math.PI / 2);
 		txRocket.scale(SCALE, SCALE);
 		g.setTransform(txRocket);
 
-		float w = model.getRocket().getWidth();
-		float h = model.getRocket().getHeight();
-
-		g.setColor(Color.RED.darker());
-		Rectangle2D body = new Rectangle2D.Float(-w / 2, -h / 2, w, h);
-		g.fill(body);
-		Path2D noseCode = new Path2D.Float();
-		noseCode.moveTo(-w / 2, -h / 2);
-		noseCode.lineTo(0, -h / 2 - 5);
-		noseCode.lineTo(w / 2, -h / 2);
-		noseCode.lineTo(-w / 2, -h / 2);
-		g.fill(noseCode);
+		g.setColor(color);
+		g.fill(view.body);
+		g.fill(view.noseCone);
 
 		if (drawDebug) {
 			g.setColor(Color.YELLOW);
-			Vec2 velocityVector = new Vec2(model.getRocket().getVelocity()).normalize().mul(2);
-			Path2D velocityPath = new Path2D.Float();
-			velocityPath.moveTo(0, 0);
-			velocityPath.lineTo(velocityVector.x, -velocityVector.y);
-			g.draw(velocityPath);
+			Vec2 velocityVector = new Vec2(state.getVelocityX(), state.getVelocityY()).normalize().mul(2);
+			drawDebugLine(g, velocityVector.x, -velocityVector.y);
 		}
 
-		for (var thruster : model.getRocket().getThrusters()) {
-			AffineTransform txThruster = new AffineTransform(txRocket);
+		for (int i = 0; i < rocket.getThrusterCount(); i++) {
+			var thruster = rocket.getThruster(i);
+			txThruster.setTransform(txRocket);
 			txThruster.translate(thruster.getPosition().x, -thruster.getPosition().y);
-			txThruster.rotate(-thruster.getCurrentOrientation() + Math.PI / 2);
+			txThruster.rotate(-state.getThrusterOrientation(i) + Math.PI / 2);
 			txThruster.scale(thruster.getSize(), thruster.getSize());
 
-			AffineTransform txThrusterNoRotate = new AffineTransform(txRocket);
-			txThrusterNoRotate.translate(thruster.getPosition().x, -thruster.getPosition().y);
-			txThrusterNoRotate.scale(thruster.getSize(), thruster.getSize());
-
 			g.setTransform(txThruster);
-			Path2D nozzle = new Path2D.Float();
-			nozzle.moveTo(-0.5, -0.5);
-			nozzle.lineTo(0, 0.5);
-			nozzle.lineTo(0.5, -0.5);
-			nozzle.lineTo(-0.5, -0.5);
 			g.setColor(Color.GRAY);
-			g.fill(nozzle);
-
-			if (thruster.isActive()) {
-				Path2D exhaust = new Path2D.Float();
-				exhaust.moveTo(-0.5, -0.6);
-				exhaust.lineTo(0, -1.5 - 0.25 * Math.sin(50* model.getTimeSinceLaunch() + thruster.getName().hashCode()));
-				exhaust.lineTo(0.5, -0.6);
-				exhaust.lineTo(-0.5, -0.6);
+			g.fill(NOZZLE);
+
+			if (state.isThrusterActive(i)) {
+				double length = 0.9 + 0.25 * Math.sin(50 * state.getTimeSinceLaunch() + thruster.getName().hashCode());
+				txThruster.translate(0, -0.6);
+				txThruster.scale(1, length);
+				g.setTransform(txThruster);
 				g.setColor(Color.ORANGE);
-				g.fill(exhaust);
+				g.fill(EXHAUST);
 
 				if (drawDebug) {
-					g.setTransform(txThrusterNoRotate);
-
-					var thrust = thruster.getThrust();
-					Vec2 thrustDirection = new Vec2(thrust).normalize();
-					Vec2 centerDirection = new Vec2(0).sub(thruster.getPosition()).normalize();
+					txThruster.setTransform(txRocket);
+					txThruster.translate(thruster.getPosition().x, -thruster.getPosition().y);
+					txThruster.scale(thruster.getSize(), thruster.getSize());
+					g.setTransform(txThruster);
 
+					var geometry = thruster.getGeometry();
 					g.setColor(Color.YELLOW);
-					Path2D thrustPath = new Path2D.Float();
-					thrustPath.moveTo(0, 0);
-					thrustPath.lineTo(thrustDirection.x, -thrustDirection.y);
-					g.draw(thrustPath);
+					drawDebugLine(g, state.getThrustDirX(i), -state.getThrustDirY(i));
 					g.setColor(Color.BLUE);
-					Path2D centerPath = new Path2D.Float();
-					centerPath.moveTo(0, 0);
-					centerPath.lineTo(centerDirection.x, -centerDirection.y);
-					g.draw(centerPath);
+					drawDebugLine(g, geometry.centerDirX(), -geometry.centerDirY());
 				}
 			}
 		}
@@ -141,14 +267,90 @@ public class GamePanel extends JPanel {
 		g.setTransform(txOriginal);
 	}
 
-	private void drawWorld(Graphics2D g) {
-		float screenHeightMeters = getHeight() / SCALE;
-		float relativeGroundHeight = -1 * model.getRocket().getAltitude() - (screenHeightMeters / 2);
+	private void drawDebugLine(Graphics2D g, float x, float y) {
+		debugPath.reset();
+		debugPath.moveTo(0, 0);
+		debugPath.lineTo(x, y);
+		g.draw(debugPath);
+	}
+
+	private void drawWorld(Graphics2D g, ModelSnapshot state, int width, int height) {
+		float screenHeightMeters = height / SCALE;
+		float relativeGroundHeight = -1 * state.getAltitude() - (screenHeightMeters / 2);
 		if (relativeGroundHeight <= 0.0f) {
 			float groundHeight = (-1 * relativeGroundHeight) * SCALE;
 			g.setColor(GameModel.GROUND_COLOR);
-			Rectangle2D ground = new Rectangle2D.Float(0, groundHeight, getWidth(), getHeight());
+			ground.setRect(0, groundHeight, width, height);
 			g.fill(ground);
 		}
 	}
+
+	/**
+	 * Everything needed to draw one vehicle: its layout, its shapes, and its
+	 * interpolated state.
+	 */
+	private static class VehicleView {
+		private final Rocket rocket;
+		private final SnapshotInterpolator interpolator;
+		private final Shape body;
+		private final Shape noseCone;
+
+		/**
+		 * The distance in pixels from the rocket's center within which all of
+		 * it is drawn, including its nose cone and exhaust.
+		 */
+		private final double cullRadius;
+
+		VehicleView(GameModel model, SnapshotPublisher snapshots) {
+			this.rocket = model.getRocket();
+			this.interpolator = new SnapshotInterpolator(model, snapshots);
+			float w = rocket.getWidth();
+			float h = rocket.getHeight();
+			this.body = new Rectangle2D.Float(-w / 2, -h / 2, w, h);
+			this.noseCone = triangle(-w / 2, -h / 2, 0, -h / 2 - 5, w / 2, -h / 2);
+			this.cullRadius = (Math.hypot(w / 2, h / 2 + 5) + 5) * SCALE;
+		}
+	}
+
+	/**
+	 * A line of text showing up to two values, which is only re-formatted
+	 * when one of the values changes at the given resolution.
+	 */
+	private static class CachedText {
+		private final String format;
+		private final double resolution;
+		private long lastA = Long.MIN_VALUE;
+		private long lastB = Long.MIN_VALUE;
+		private String text;
+
+		/**
+		 * @param format The format of the text.
+		 * @param resolution The number of steps per unit that the format can
+		 *                   distinguish, such as 1000 for 3 decimal places.
+		 */
+		CachedText(String format, double resolution) {
+			this.format = format;
+			this.resolution = resolution;
+		}
+
+		String get(double a) {
+			long keyA = Math.round(a * resolution);
+			if (text == null || keyA != lastA) {
+				lastA = keyA;
+				text = String.format(format, a);
+			}
+			return text;
+		}
+
+		String get(double a, double b) {
+			long keyA = Math.round(a * resolution);
+			long keyB = Math.round(b * resolution);
+			if (text == null || keyA != lastA || keyB != lastB) {
+				lastA = keyA;
+				lastB = keyB;
+				text = String.format(format, a, b);
+			}
+			return text;
+		}
+	}
 }
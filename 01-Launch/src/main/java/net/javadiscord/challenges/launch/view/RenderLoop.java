@@ -0,0 +1,72 @@
+package net.javadiscord.challenges.launch.view;
+
+import lombok.Getter;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Actively renders a {@link GamePanel} on its own thread, at a steady frame
+ * rate which is independent of the physics tick rate. Frames are paced with
+ * {@link System#nanoTime()} deadlines, and if rendering falls behind, the
+ * loop doesn't try to catch up, so that it never starves the physics thread.
+ */
+public class RenderLoop extends Thread {
+	public static final double TARGET_FPS = 144.0;
+
+	private final GamePanel panel;
+	private final long nanosPerFrame;
+	private volatile boolean running = true;
+
+	/**
+	 * The measured frame rate, updated about once per second.
+	 */
+	@Getter
+	private volatile double framesPerSecond;
+
+	public RenderLoop(GamePanel panel) {
+		this(panel, TARGET_FPS);
+	}
+
+	/**
+	 * @param panel The panel to render.
+	 * @param targetFps The number of frames to render per second.
+	 */
+	public RenderLoop(GamePanel panel, double targetFps) {
+		super("Render");
+		this.panel = panel;
+		this.nanosPerFrame = (long) (1_000_000_000.0 / targetFps);
+		setDaemon(true);
+		// Rendering a frame late matters less than ticking the physics late.
+		setPriority(Thread.NORM_PRIORITY - 1);
+	}
+
+	public void setRunning(boolean running) {
+		this.running = running;
+	}
+
+	@Override
+	public void run() {
+		long nextFrame = System.nanoTime();
+		long windowStart = nextFrame;
+		int frames = 0;
+		while (this.running) {
+			panel.renderFrame();
+			frames++;
+
+			long now = System.nanoTime();
+			if (now - windowStart >= 1_000_000_000L) {
+				framesPerSecond = frames * 1_000_000_000.0 / (now - windowStart);
+				windowStart = now;
+				frames = 0;
+			}
+			nextFrame += nanosPerFrame;
+			if (nextFrame - now < 0) {
+				// Behind schedule, so drop the missed frames instead of bursting.
+				nextFrame = now;
+			}
+			while (this.running && (now = System.nanoTime()) - nextFrame < 0) {
+				LockSupport.parkNanos(this, nextFrame - now);
+			}
+		}
+	}
+}
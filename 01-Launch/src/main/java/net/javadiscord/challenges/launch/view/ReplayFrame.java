@@ -0,0 +1,74 @@
+package net.javadiscord.challenges.launch.view;
+
+import net.javadiscord.challenges.launch.control.ReplayUpdater;
+import net.javadiscord.challenges.launch.control.SnapshotPublisher;
+import net.javadiscord.challenges.launch.telemetry.ReplayPlayer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+/**
+ * A window which plays back a recorded flight.
+ */
+public class ReplayFrame extends JFrame {
+	public ReplayFrame(ReplayPlayer player) {
+		super("Launch - Replay");
+		setPreferredSize(new Dimension(800, 600));
+		setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+		var snapshots = new SnapshotPublisher(player.getModel());
+		var panel = new GamePanel(player.getModel(), snapshots);
+		add(panel);
+		pack();
+		setLocationRelativeTo(null);
+
+		var updater = new ReplayUpdater(player, snapshots, p -> SwingUtilities.invokeLater(() -> updateTitle(p)));
+		updater.start();
+		var renderLoop = new RenderLoop(panel);
+		renderLoop.start();
+		addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowClosing(WindowEvent e) {
+				updater.setRunning(false);
+				renderLoop.setRunning(false);
+			}
+		});
+
+		addKeyListener(new KeyAdapter() {
+			@Override
+			public void keyPressed(KeyEvent e) {
+				if (e.getKeyCode() == KeyEvent.VK_SPACE) {
+					player.togglePaused();
+				} else if (e.getKeyCode() == KeyEvent.VK_LEFT) {
+					player.skip(e.isShiftDown() ? -60 : -10);
+				} else if (e.getKeyCode() == KeyEvent.VK_RIGHT) {
+					player.skip(e.isShiftDown() ? 60 : 10);
+				} else if (e.getKeyCode() == KeyEvent.VK_UP) {
+					player.setSpeed(player.getSpeed() * 2);
+				} else if (e.getKeyCode() == KeyEvent.VK_DOWN) {
+					player.setSpeed(player.getSpeed() / 2);
+				} else if (e.getKeyCode() == KeyEvent.VK_HOME) {
+					player.seekToTimeSinceLaunch(0);
+				} else if (e.getKeyCode() == KeyEvent.VK_T) {
+					String input = JOptionPane.showInputDialog(ReplayFrame.this, "Seek to T+ (seconds):");
+					if (input != null && !input.isBlank()) {
+						try {
+							player.seekToTimeSinceLaunch(Double.parseDouble(input.trim()));
+						} catch (NumberFormatException ex) {
+							JOptionPane.showMessageDialog(ReplayFrame.this, "Invalid time: " + input);
+						}
+					}
+				}
+			}
+		});
+	}
+
+	private void updateTitle(ReplayPlayer player) {
+		String status = player.isPaused() ? "paused" : player.isFinished() ? "finished" : "playing";
+		String title = String.format("Launch - Replay (%s, %.1fx)", status, player.getSpeed());
+		if (!title.equals(getTitle())) setTitle(title);
+	}
+}
@@ -0,0 +1,63 @@
+package net.javadiscord.challenges.launch.view;
+
+import net.javadiscord.challenges.launch.control.SnapshotPublisher;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.ModelSnapshot;
+
+/**
+ * Keeps the last two snapshots of a model, and blends between them by how
+ * far the wall clock has got through the interval between them, so that
+ * frames rendered between physics ticks still move smoothly. This shows the
+ * model one tick behind, in exchange for the display no longer depending on
+ * the physics tick rate.
+ */
+class SnapshotInterpolator {
+	/**
+	 * The fastest that simulated time can pass relative to the wall clock
+	 * between two snapshots before it's treated as a jump, such as a seek in
+	 * a replay, which shouldn't be interpolated across.
+	 */
+	private static final double MAX_TIME_RATE = 1000.0;
+
+	private final SnapshotPublisher snapshots;
+	private ModelSnapshot previous;
+	private ModelSnapshot current;
+	private final ModelSnapshot interpolated;
+
+	SnapshotInterpolator(GameModel model, SnapshotPublisher snapshots) {
+		this.snapshots = snapshots;
+		this.previous = new ModelSnapshot(model.getRocket());
+		this.current = new ModelSnapshot(model.getRocket());
+		this.interpolated = new ModelSnapshot(model.getRocket());
+		current.copyFrom(snapshots.acquire());
+		previous.copyFrom(current);
+	}
+
+	/**
+	 * Gets the state to render at the given time.
+	 * @param now The current {@link System#nanoTime()}.
+	 * @return The interpolated state, which is only valid until the next call.
+	 */
+	ModelSnapshot next(long now) {
+		if (snapshots.hasFresh()) {
+			var swap = previous;
+			previous = current;
+			current = swap;
+			current.copyFrom(snapshots.acquire());
+			if (isDiscontinuous(previous, current)) {
+				previous.copyFrom(current);
+			}
+		}
+		long interval = current.getWallTime() - previous.getWallTime();
+		if (interval <= 0) return current;
+		float alpha = (float) Math.min(1.0, Math.max(0.0, (now - current.getWallTime()) / (double) interval));
+		interpolated.interpolate(previous, current, alpha);
+		return interpolated;
+	}
+
+	private static boolean isDiscontinuous(ModelSnapshot a, ModelSnapshot b) {
+		double dt = b.getTime() - a.getTime();
+		double wall = (b.getWallTime() - a.getWallTime()) / 1_000_000_000.0;
+		return dt < 0 || dt > wall * MAX_TIME_RATE;
+	}
+}
@@ -0,0 +1,102 @@
+package net.javadiscord.challenges.launch.control;
+
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.Scheduler;
+import net.javadiscord.challenges.launch.guidance.GravityTurnGuidance;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that aborting a launch stops a guidance computer which flies through
+ * the rocket's command buffer, and that the rocket can be launched again,
+ * with or without aborting first.
+ */
+class AbortTest {
+	private static final int TICKS_PER_SECOND = (int) Math.round(1 / Simulation.DEFAULT_TIME_STEP);
+
+	@Test
+	void abortShutsDownBufferedGuidance() {
+		var model = new GameModel(new GravityTurnGuidance(), new SplittableRandom(1));
+		var physics = new PhysicsEngine(model);
+		model.startLaunch();
+		fly(physics, GameModel.LAUNCH_SEQUENCE_DURATION + 3);
+		assertTrue(model.isLaunched());
+		assertTrue(anyActive(model.getRocket()), "The main engines should be burning before the abort.");
+
+		model.submit(GameModel::abortLaunch);
+		for (int i = 0; i < 5 * TICKS_PER_SECOND; i++) {
+			physics.update(Simulation.DEFAULT_TIME_STEP);
+			assertFalse(anyActive(model.getRocket()), "A thruster was active " + i + " ticks after the abort.");
+		}
+	}
+
+	@Test
+	void relaunchAfterAbort() {
+		var model = new GameModel(new GravityTurnGuidance(), new SplittableRandom(1));
+		var physics = new PhysicsEngine(model);
+		model.startLaunch();
+		fly(physics, GameModel.LAUNCH_SEQUENCE_DURATION + 3);
+		model.submit(GameModel::abortLaunch);
+		fly(physics, 1);
+
+		model.submit(GameModel::startLaunch);
+		fly(physics, GameModel.LAUNCH_SEQUENCE_DURATION - 1);
+		assertFalse(anyActive(model.getRocket()), "The engines lit before the relaunch.");
+		fly(physics, 2);
+		assertTrue(model.isLaunched());
+		assertTrue(anyActive(model.getRocket()), "The main engines should be burning after the relaunch.");
+	}
+
+	@Test
+	void restartDropsEarlierSequencesTasks() {
+		var guidance = new CountingGuidance();
+		var model = new GameModel(guidance, new SplittableRandom(1));
+		var physics = new PhysicsEngine(model);
+		model.startLaunch();
+		fly(physics, 2);
+		model.submit(GameModel::startLaunch);
+		fly(physics, 10);
+		assertEquals(1, guidance.runs, "Only the latest launch sequence's task should run.");
+	}
+
+	private static void fly(PhysicsEngine physics, double seconds) {
+		for (int i = 0; i < seconds * TICKS_PER_SECOND; i++) {
+			physics.update(Simulation.DEFAULT_TIME_STEP);
+		}
+	}
+
+	private static boolean anyActive(Rocket rocket) {
+		for (int i = 0; i < rocket.getThrusterCount(); i++) {
+			if (rocket.getThruster(i).isActive()) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Schedules a task a few seconds into every launch sequence, and counts
+	 * how many times it runs.
+	 */
+	private static class CountingGuidance implements GuidanceComputer {
+		private int runs;
+
+		@Override
+		public void launchSequenceStart(Rocket rocket, float t, Scheduler scheduler) {
+			scheduler.schedule(3, () -> runs++);
+		}
+
+		@Override
+		public void launch(Rocket rocket) {
+		}
+
+		@Override
+		public void controlRocket(Rocket rocket, float t) {
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package net.javadiscord.challenges.launch.control;
+
+import com.sun.management.ThreadMXBean;
+import net.javadiscord.challenges.launch.GuidanceComputer;
+import net.javadiscord.challenges.launch.integrator.Integrator;
+import net.javadiscord.challenges.launch.model.GameModel;
+import net.javadiscord.challenges.launch.model.Rocket;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that a physics tick allocates nothing once it's warmed up, with
+ * every integrator, so that a long flight never makes the garbage collector
+ * pause the simulation.
+ */
+class PhysicsEngineAllocationTest {
+	private static final int WARM_UP_TICKS = 50_000;
+	private static final int MEASURED_TICKS = 10_000;
+	private static final int MEASURED_WINDOWS = 3;
+
+	@ParameterizedTest
+	@ValueSource(strings = {"euler", "verlet", "rk4", "adaptive"})
+	void tickAllocatesNothing(String integrator) {
+		var model = new GameModel(new BurningGuidance(), new SplittableRandom(1));
+		var physics = new PhysicsEngine(model);
+		physics.setIntegrator(Integrator.forName(integrator).get());
+		model.startLaunch();
+		for (int i = 0; i < WARM_UP_TICKS; i++) {
+			physics.update(Simulation.DEFAULT_TIME_STEP);
+		}
+		var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		threads.getThreadAllocatedBytes(thread);
+		// When the JIT deoptimizes a method, it allocates any objects it had
+		// optimized away, once, which depends on what ran earlier in the same
+		// JVM. An allocation on every tick shows up in every window.
+		long allocated = -1;
+		for (int window = 0; window < MEASURED_WINDOWS && allocated != 0; window++) {
+			long before = threads.getThreadAllocatedBytes(thread);
+			for (int i = 0; i < MEASURED_TICKS; i++) {
+				physics.update(Simulation.DEFAULT_TIME_STEP);
+			}
+			allocated = threads.getThreadAllocatedBytes(thread) - before;
+		}
+		assertEquals(0, allocated, "Bytes allocated over " + MEASURED_TICKS + " ticks with " + integrator);
+	}
+
+	/**
+	 * Burns the main engines and steers with the RCS thrusters, so that every
+	 * tick exercises the thruster kernel and the commands applied to it.
+	 */
+	private static class BurningGuidance implements GuidanceComputer {
+		@Override
+		public void launch(Rocket rocket) {
+			rocket.getThrusterGroup("ME").setActive(true);
+		}
+
+		@Override
+		public void controlRocket(Rocket rocket, float t) {
+			var commands = rocket.getCommandBuffer();
+			commands.setActive(rocket.getThrusterGroup("RCS Top"), ((int) t & 1) == 0);
+			commands.setGimbal(rocket.getThrusterGroup("ME"), (t % 10) - 5);
+			commands.submit();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package net.javadiscord.challenges.launch.telemetry;
+
+import net.javadiscord.challenges.launch.control.PhysicsEngine;
+import net.javadiscord.challenges.launch.control.Simulation;
+import net.javadiscord.challenges.launch.guidance.GravityTurnGuidance;
+import net.javadiscord.challenges.launch.model.GameModel;
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Checks the stream a {@link TelemetryServer} sends to a local client, and
+ * that a client which stops reading never holds up the physics.
+ */
+class TelemetryServerTest {
+	private static final int TICKS = 32;
+
+	@Test
+	void clientReceivesHeaderAndEveryRecordInOrder() throws IOException {
+		var model = new GameModel(new GravityTurnGuidance(), new SplittableRandom(1));
+		var physics = new PhysicsEngine(model);
+		model.startLaunch();
+		try (var server = start(model); var client = SocketChannel.open(server.getAddress())) {
+			// The header is only sent once the client is registered, so after
+			// it, no published frame can be missed.
+			var header = readFully(client, ByteBuffer.allocate(FlightRecorder.DATA_OFFSET_OFFSET + Integer.BYTES));
+			assertEquals(FlightRecorder.MAGIC, header.getInt(FlightRecorder.MAGIC_OFFSET));
+			assertEquals(FlightRecorder.VERSION, header.getInt(FlightRecorder.VERSION_OFFSET));
+			int recordSize = header.getInt(FlightRecorder.RECORD_SIZE_OFFSET);
+			assertEquals(server.getFormat().getRecordSize(), recordSize);
+			readFully(client, ByteBuffer.allocate(header.getInt(FlightRecorder.DATA_OFFSET_OFFSET) - header.capacity()));
+
+			double[] times = new double[TICKS];
+			for (int i = 0; i < TICKS; i++) {
+				physics.update(Simulation.DEFAULT_TIME_STEP);
+				times[i] = model.getTime();
+				server.onTick(model);
+			}
+			var records = readFully(client, ByteBuffer.allocate(TICKS * recordSize));
+			for (int i = 0; i < TICKS; i++) {
+				assertEquals(times[i], server.getFormat().readTime(records, i * recordSize), "Record " + i);
+			}
+			assertEquals(TICKS, server.getPublishedFrames());
+			assertEquals(0, server.getDroppedFrames());
+		}
+	}
+
+	@Test
+	void closingSendsTheLastFramesThenEndsTheStream() throws IOException {
+		var model = new GameModel(new GravityTurnGuidance(), new SplittableRandom(1));
+		var server = start(model);
+		try (var client = SocketChannel.open(server.getAddress())) {
+			var header = readFully(client, ByteBuffer.allocate(FlightRecorder.DATA_OFFSET_OFFSET + Integer.BYTES));
+			int recordSize = header.getInt(FlightRecorder.RECORD_SIZE_OFFSET);
+			readFully(client, ByteBuffer.allocate(header.getInt(FlightRecorder.DATA_OFFSET_OFFSET) - header.capacity()));
+			for (int i = 0; i < TICKS; i++) {
+				server.onTick(model);
+			}
+			server.close(10_000);
+			readFully(client, ByteBuffer.allocate(TICKS * recordSize));
+			assertEquals(-1, client.read(ByteBuffer.allocate(1)), "The stream should end after the last frame.");
+		} finally {
+			server.close();
+		}
+	}
+
+	@Test
+	void clientWhichNeverReadsDoesNotBlockTicks() throws IOException {
+		var model = new GameModel(new GravityTurnGuidance(), new SplittableRandom(1));
+		try (var server = start(model); var client = SocketChannel.open()) {
+			client.setOption(StandardSocketOptions.SO_RCVBUF, 1024);
+			client.connect(server.getAddress());
+			// Publish until the server has had to drop frames for the client,
+			// which means it's stuck, giving the server's thread a chance to
+			// run in between.
+			long ticks = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+				long published = 0;
+				while (server.getDroppedFrames() == 0) {
+					for (int i = 0; i < 1000; i++) {
+						server.onTick(model);
+						published++;
+					}
+					Thread.sleep(1);
+				}
+				return published;
+			});
+			assertEquals(ticks, server.getPublishedFrames());
+		}
+	}
+
+	private static TelemetryServer start(GameModel model) throws IOException {
+		return TelemetryServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), model.getRocket(), 1);
+	}
+
+	private static ByteBuffer readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) throw new EOFException("The server disconnected.");
+		}
+		return buffer.flip().order(TelemetryFormat.BYTE_ORDER);
+	}
+}